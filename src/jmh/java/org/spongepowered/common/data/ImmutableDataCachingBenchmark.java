@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.common.data.value.immutable.ImmutableSpongeBoundedValue;
+import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
+
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Measures cache hits of {@link ImmutableDataCachingUtil} for the common
+ * argument shapes, next to the string keyed Guava cache it used before.
+ * Manipulators go through the same tables as the values measured here.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ImmutableDataCachingBenchmark {
+
+    private static final Comparator<Integer> COMPARATOR = Integer::compare;
+
+    private enum Variant {
+        OAK,
+        SPRUCE,
+        BIRCH
+    }
+
+    private final Cache<String, ImmutableValue<?>> legacyCache = CacheBuilder.newBuilder()
+            .concurrencyLevel(4)
+            .maximumSize(100000)
+            .build();
+
+    private Key<? extends BaseValue<Boolean>> booleanKey;
+    private Key<? extends BaseValue<Integer>> intKey;
+    private Key<? extends BaseValue<Variant>> variantKey;
+    private int counter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.booleanKey = createKey("boolean");
+        this.intKey = createKey("int");
+        this.variantKey = createKey("variant");
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Key createKey(String name) {
+        return (Key) Proxy.newProxyInstance(ImmutableDataCachingBenchmark.class.getClassLoader(), new Class<?>[] {Key.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return name;
+                    }
+                });
+    }
+
+    private int next() {
+        return this.counter = (this.counter + 1) & 15;
+    }
+
+    @Benchmark
+    public ImmutableValue<Boolean> booleanValue() {
+        return ImmutableSpongeValue.cachedOf(this.booleanKey, false, (next() & 1) == 0);
+    }
+
+    @Benchmark
+    public ImmutableValue<Integer> smallIntValue() {
+        return ImmutableSpongeValue.cachedOf(this.intKey, 0, next());
+    }
+
+    @Benchmark
+    public ImmutableValue<Variant> enumValue() {
+        return ImmutableSpongeValue.cachedOf(this.variantKey, Variant.OAK, Variant.values()[next() % 3]);
+    }
+
+    @Benchmark
+    public ImmutableValue<Integer> boundedValue() {
+        return ImmutableSpongeBoundedValue.cachedOf(this.intKey, 0, next(), COMPARATOR, 0, 15);
+    }
+
+    @Benchmark
+    public ImmutableValue<?> legacyStringKey() throws ExecutionException {
+        final Integer arg = next();
+        final StringBuilder builder = new StringBuilder(ImmutableSpongeValue.class.getCanonicalName() + ":");
+        builder.append("{").append("int").append("}");
+        builder.append("{").append(arg.getClass().toString()).append("}");
+        builder.append("{").append(arg.toString()).append("}");
+        return this.legacyCache.get(builder.toString(), () -> new ImmutableSpongeValue<>(this.intKey, 0, arg));
+    }
+
+}
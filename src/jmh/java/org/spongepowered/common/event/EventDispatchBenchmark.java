@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Compares posting through the iterated listener list with posting through
+ * a generated {@link EventInvoker}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class EventDispatchBenchmark {
+
+    private static final Order[] ORDERS = Order.values();
+
+    @Param({"1", "4", "16"})
+    private int listenerCount;
+
+    private BenchmarkEvent event;
+    private RegisteredListener.Cache iterated;
+    private RegisteredListener.Cache compiled;
+
+    @Setup
+    public void setup() throws Exception {
+        PluginContainer plugin = (PluginContainer) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {PluginContainer.class},
+                (proxy, method, args) -> method.getName().equals("toString") ? "benchmark" : null);
+
+        List<RegisteredListener<?>> listeners = Lists.newArrayList();
+        for (int i = 0; i < this.listenerCount; i++) {
+            listeners.add(new RegisteredListener<>(plugin, BenchmarkEvent.class, ORDERS[i % ORDERS.length], createListener(i), i % 2 == 0, false));
+        }
+        listeners.sort(null);
+
+        this.event = new BenchmarkEvent();
+        this.iterated = new RegisteredListener.Cache(listeners);
+        this.compiled = new RegisteredListener.Cache(BenchmarkEvent.class, listeners,
+                new ClassEventInvokerFactory("org.spongepowered.common.event.benchmark"));
+    }
+
+    private static EventListener<BenchmarkEvent> createListener(int index) {
+        // Use several listener classes so the iterated path sees the same call site profile as on a server
+        switch (index % 3) {
+            case 0:
+                return event -> event.counter++;
+            case 1:
+                return event -> event.counter += 2;
+            default:
+                return event -> event.setCancelled(false);
+        }
+    }
+
+    @Benchmark
+    public boolean iterated() {
+        return SpongeEventManager.post(this.event, this.iterated.getListeners());
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return this.compiled.getInvoker().invoke(this.event);
+    }
+
+    @Benchmark
+    public boolean iteratedByOrder() {
+        return SpongeEventManager.post(this.event, this.iterated.getListenersByOrder(Order.DEFAULT));
+    }
+
+    @Benchmark
+    public boolean compiledByOrder() {
+        return this.compiled.getInvokerByOrder(Order.DEFAULT).invoke(this.event);
+    }
+
+    public static final class BenchmarkEvent implements Event, Cancellable {
+
+        int counter;
+        private boolean cancelled;
+
+        public Cause getCause() {
+            return Cause.of(this);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancel) {
+            this.cancelled = cancel;
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.persistence.data;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.common.service.persistence.NbtStreamCodec;
+import org.spongepowered.common.service.persistence.NbtTranslator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the throughput of writing and reading a data view as binary
+ * NBT, streamed by {@link NbtStreamCodec} and through the compound tree
+ * of {@link NbtTranslator}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NbtStreamCodecBenchmark {
+
+    @Param({"16", "256", "4096"})
+    private int entries;
+
+    private DataContainer container;
+    private byte[] data;
+
+    @Setup
+    public void setup() throws IOException {
+        this.container = new MemoryDataContainer();
+        for (int i = 0; i < this.entries; i++) {
+            DataView view = this.container.createView(DataQuery.of("entry" + i));
+            view.set(DataQuery.of("name"), "entry" + i);
+            view.set(DataQuery.of("value"), i);
+            view.set(DataQuery.of("enabled"), i % 2 == 0);
+            List<Double> position = new ArrayList<>();
+            position.add(i * 0.5D);
+            position.add(64.0D);
+            position.add(-i * 0.5D);
+            view.set(DataQuery.of("position"), position);
+        }
+        this.data = writeStreamed();
+    }
+
+    @Benchmark
+    public byte[] writeStreamed() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtStreamCodec.write(this.container, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeCompound() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(NbtTranslator.getInstance().translateData(this.container), new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public DataContainer readStreamed() throws IOException {
+        return NbtStreamCodec.read(new DataInputStream(new ByteArrayInputStream(this.data)), NbtStreamCodec.PACKET_SIZE_LIMIT);
+    }
+
+    @Benchmark
+    public DataContainer readCompound() throws IOException {
+        return NbtTranslator.getInstance().translateFrom(CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(this.data))));
+    }
+
+}
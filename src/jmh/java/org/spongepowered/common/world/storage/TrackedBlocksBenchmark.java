@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Measures saving and loading the block tracking data of a chunk, in the
+ * packed format and in the legacy list of compounds. Both include the
+ * deflate step the region files apply to every chunk.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TrackedBlocksBenchmark {
+
+    @Param({"1024", "16384", "65536"})
+    private int trackedBlocks;
+
+    @Param({"1", "8"})
+    private int users;
+
+    private PlayerTrackerMap trackedPositions;
+    private byte[] packedChunk;
+    private byte[] legacyChunk;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(0);
+        this.trackedPositions = new PlayerTrackerMap();
+        // Fill the chunk from the bottom up, like a densely built area
+        for (int i = 0; i < this.trackedBlocks; i++) {
+            int key = PlayerTrackerMap.key(new BlockPos(i & 0xF, i >> 8, (i >> 4) & 0xF));
+            int owner = random.nextInt(this.users);
+            this.trackedPositions.put(key, owner, random.nextInt(4) == 0 ? random.nextInt(this.users) : PlayerTrackerMap.NO_INDEX);
+        }
+        this.packedChunk = save(writePacked());
+        this.legacyChunk = save(writeLegacy());
+    }
+
+    private NBTTagCompound writePacked() {
+        NBTTagCompound spongeData = new NBTTagCompound();
+        TrackedBlocksCodec.write(this.trackedPositions, spongeData);
+        NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setTag(NbtDataUtil.SPONGE_DATA, spongeData);
+        return chunk;
+    }
+
+    private NBTTagCompound writeLegacy() {
+        NBTTagList positions = new NBTTagList();
+        this.trackedPositions.forEach((key, ownerIndex, notifierIndex) -> {
+            NBTTagCompound valueNbt = new NBTTagCompound();
+            if (ownerIndex != PlayerTrackerMap.NO_INDEX) {
+                valueNbt.setInteger("owner", ownerIndex);
+            }
+            if (notifierIndex != PlayerTrackerMap.NO_INDEX) {
+                valueNbt.setInteger("notifier", notifierIndex);
+            }
+            valueNbt.setInteger("ipos", PlayerTrackerMap.keyX(key) | PlayerTrackerMap.keyY(key) << 4 | PlayerTrackerMap.keyZ(key) << 28);
+            positions.appendTag(valueNbt);
+        });
+        NBTTagCompound spongeData = new NBTTagCompound();
+        spongeData.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+        NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setTag(NbtDataUtil.SPONGE_DATA, spongeData);
+        return chunk;
+    }
+
+    private static byte[] save(NBTTagCompound chunk) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            CompressedStreamTools.write(chunk, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static PlayerTrackerMap load(byte[] data) throws IOException {
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            return TrackedBlocksCodec.read(CompressedStreamTools.read(input).getCompoundTag(NbtDataUtil.SPONGE_DATA));
+        }
+    }
+
+    @Benchmark
+    public byte[] savePacked() throws IOException {
+        return save(writePacked());
+    }
+
+    @Benchmark
+    public byte[] saveLegacy() throws IOException {
+        return save(writeLegacy());
+    }
+
+    @Benchmark
+    public PlayerTrackerMap loadPacked() throws IOException {
+        return load(this.packedChunk);
+    }
+
+    @Benchmark
+    public PlayerTrackerMap loadLegacy() throws IOException {
+        return load(this.legacyChunk);
+    }
+
+}
@@ -38,6 +38,7 @@
 import ninja.leaping.configurate.ConfigurationNode;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.text.Texts;
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
@@ -46,6 +47,11 @@
 import org.spongepowered.api.util.command.source.RconSource;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.IMixinWorld;
+import org.spongepowered.common.service.permission.base.PermissionResolver;
+import org.spongepowered.common.service.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.service.scheduler.SpongeScheduler;
+import org.spongepowered.common.service.scheduler.TaskMetrics;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -56,6 +62,7 @@
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
@@ -171,6 +178,30 @@ static void reportTimings(CommandSource sender) {
             ).build();
         }));
 
+        // Lag and run time of scheduled plugin tasks
+
+        builder.add("scheduler", JSONUtil.objectBuilder()
+                .add("sync", serializeTaskMetrics(SpongeScheduler.getInstance().getTaskMetrics(false)))
+                .add("async", serializeTaskMetrics(SpongeScheduler.getInstance().getTaskMetrics(true)))
+                .add("executor", serializeAsyncTaskExecutor(SpongeScheduler.getInstance().getAsyncTaskExecutor())));
+
+        // Block changes and spawns applied without capturing, as nothing listened for them
+
+        builder.add("skippedcaptures", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorlds(), (world) -> {
+            return JSONUtil.singleObjectPair(world.getName(), ((IMixinWorld) world).getSkippedCaptureCount());
+        }));
+
+        // Hits and misses of the cached permission values of subjects
+
+        builder.add("permissioncache", JSONUtil.arrayOf(PermissionResolver.getHitCount(), PermissionResolver.getMissCount()));
+
+        // Entities inside and outside of the activation range during the last tick
+
+        builder.add("activation", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorlds(), (world) -> {
+            IMixinWorld mixinWorld = (IMixinWorld) world;
+            return JSONUtil.singleObjectPair(world.getName(), JSONUtil.arrayOf(mixinWorld.getActiveEntityCount(), mixinWorld.getInactiveEntityCount()));
+        }));
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
@@ -214,6 +245,36 @@ static long getCost() {
         return timingsCost;
     }
 
+    private static JsonObject serializeTaskMetrics(Map<PluginContainer, TaskMetrics> metrics) {
+        return JSONUtil.mapArrayToObject(metrics.entrySet(), (entry) -> {
+            TaskMetrics taskMetrics = entry.getValue();
+            return JSONUtil.singleObjectPair(entry.getKey().getName(), JSONUtil.arrayOf(
+                    taskMetrics.getExecutions(),
+                    taskMetrics.getTotalLag(),
+                    taskMetrics.getMaxLag(),
+                    taskMetrics.getTotalRunTime(),
+                    taskMetrics.getMaxRunTime()));
+        });
+    }
+
+    private static JsonObject serializeAsyncTaskExecutor(AsyncTaskExecutor executor) {
+        return JSONUtil.objectBuilder()
+                .add("virtualthreads", executor.usesVirtualThreads())
+                .add("poolsize", executor.getPoolSize())
+                .add("largestpoolsize", executor.getLargestPoolSize())
+                .add("active", executor.getActiveThreadCount())
+                .add("queued", executor.getQueuedTaskCount())
+                .add("completed", executor.getCompletedTaskCount())
+                .add("plugins", JSONUtil.mapArrayToObject(executor.getQuotas().entrySet(), (entry) -> {
+                    AsyncTaskExecutor.PluginQuota quota = entry.getValue();
+                    return JSONUtil.singleObjectPair(entry.getKey().getName(), JSONUtil.arrayOf(
+                            quota.getRunning(),
+                            quota.getQueued(),
+                            quota.getRejected()));
+                }))
+                .build();
+    }
+
     private static JsonElement serializeConfigNode(ConfigurationNode node) {
         if (node.hasMapChildren()) {
             JsonObject object = new JsonObject();
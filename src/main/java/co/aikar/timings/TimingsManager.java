@@ -29,6 +29,7 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.util.command.CommandMapping;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.service.scheduler.SpongeScheduler;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -113,6 +114,7 @@ static void resetTimings() {
                     timings.reset(true);
                 }
             }
+            SpongeScheduler.getInstance().resetTaskMetrics();
             SpongeImpl.getLogger().info("Timings Reset");
             HISTORY.clear();
             needsFullReset = false;
@@ -52,6 +52,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.DataUtil;
+import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
 import org.spongepowered.common.service.persistence.NbtTranslator;
 import org.spongepowered.common.util.VecHelper;
@@ -76,7 +77,8 @@ public class SpongeBlockSnapshot implements BlockSnapshot {
     private final ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
     private final ImmutableSet<ImmutableValue<?>> valueSet;
     private int updateFlag; // internal use
-    @Nullable final NBTTagCompound compound;
+    // Tile entity data, only serialized once it is read
+    @Nullable final TileEntityPayload payload;
 
     // Internal use for restores
     public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder, int flag) {
@@ -101,8 +103,7 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
         }
         this.keyValueMap = mapBuilder.build();
         this.valueSet = ImmutableSet.copyOf(this.keyValueMap.values());
-        this.compound = builder.compound == null ? null : (NBTTagCompound) builder.compound.copy();
-
+        this.payload = builder.payload;
     }
 
     @Override
@@ -160,10 +161,10 @@ public boolean restore(boolean force, boolean notifyNeighbors) {
 
         world.setBlockState(pos, replaced, notifyNeighbors ? 3 : 2);
         world.markBlockForUpdate(pos);
-        if (this.compound != null) {
+        if (this.payload != null) {
             final TileEntity te = world.getTileEntity(pos);
             if (te != null) {
-                te.readFromNBT(this.compound);
+                te.readFromNBT(copyCompound());
                 te.markDirty();
             }
         }
@@ -200,8 +201,8 @@ public DataContainer toContainer() {
         if (this.blockState != this.extendedState) {
             container.set(DataQueries.BLOCK_EXTENDED_STATE, this.extendedState);
         }
-        if (this.compound != null) {
-            container.set(DataQueries.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+        if (this.payload != null) {
+            container.set(DataQueries.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(copyCompound()));
         }
         if (!dataList.isEmpty()) {
             container.set(DataQueries.DATA_MANIPULATORS, dataList);
@@ -354,7 +355,16 @@ public Set<ImmutableValue<?>> getValues() {
     }
 
     public Optional<NBTTagCompound> getCompound() {
-        return this.compound == null ? Optional.<NBTTagCompound>empty() : Optional.of((NBTTagCompound) this.compound.copy());
+        return this.payload == null ? Optional.<NBTTagCompound>empty() : Optional.of(copyCompound());
+    }
+
+    private NBTTagCompound copyCompound() {
+        final NBTTagCompound compound = (NBTTagCompound) this.payload.get().copy();
+        // The payload may have been taken at another position, see withLocation
+        compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_X, this.pos.getX());
+        compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Y, this.pos.getY());
+        compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Z, this.pos.getZ());
+        return compound;
     }
 
     @SuppressWarnings("rawtypes")
@@ -367,9 +377,7 @@ public SpongeBlockSnapshotBuilder createBuilder() {
         for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
             builder.add((ImmutableDataManipulator) manipulator);
         }
-        if (this.compound != null) {
-            builder.unsafeNbt(this.compound);
-        }
+        builder.tileEntityPayload(this.payload);
         return builder;
     }
 
@@ -33,7 +33,6 @@
 import com.google.common.collect.Lists;
 import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockTypes;
@@ -49,7 +48,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.DataUtil;
-import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.service.persistence.NbtTranslator;
 
 import java.util.Iterator;
@@ -67,7 +66,7 @@ public class SpongeBlockSnapshotBuilder implements BlockSnapshot.Builder {
     UUID worldUuid;
     Vector3i coords;
     @Nullable List<ImmutableDataManipulator<?, ?>> manipulators;
-    @Nullable NBTTagCompound compound;
+    @Nullable TileEntityPayload payload;
 
 
     @Override
@@ -95,11 +94,6 @@ public SpongeBlockSnapshotBuilder extendedState(BlockState extendedState) {
     @Override
     public SpongeBlockSnapshotBuilder position(Vector3i position) {
         this.coords = checkNotNull(position);
-        if (this.compound != null) {
-            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_X, position.getX());
-            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Y, position.getY());
-            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Z, position.getZ());
-        }
         return this;
     }
 
@@ -110,8 +104,7 @@ public SpongeBlockSnapshotBuilder from(Location<World> location) {
         this.coords = location.getBlockPosition();
         if (this.blockState.getType() instanceof ITileEntityProvider) {
             if (location.hasTileEntity()) {
-                this.compound = new NBTTagCompound();
-                ((TileEntity) location.getTileEntity().get()).writeToNBT(this.compound);
+                this.payload = ((IMixinTileEntity) location.getTileEntity().get()).getSnapshotPayload();
                 this.manipulators = location.getContainers().stream().map(DataManipulator::asImmutable).collect(Collectors.toList());
             }
         }
@@ -119,7 +112,12 @@ public SpongeBlockSnapshotBuilder from(Location<World> location) {
     }
 
     public SpongeBlockSnapshotBuilder unsafeNbt(NBTTagCompound compound) {
-        this.compound = (NBTTagCompound) compound.copy();
+        this.payload = TileEntityPayload.of((NBTTagCompound) compound.copy());
+        return this;
+    }
+
+    public SpongeBlockSnapshotBuilder tileEntityPayload(@Nullable TileEntityPayload payload) {
+        this.payload = payload;
         return this;
     }
 
@@ -151,9 +149,7 @@ public SpongeBlockSnapshotBuilder from(BlockSnapshot holder) {
         this.coords = holder.getPosition();
         this.manipulators = Lists.newArrayList(holder.getManipulators());
         if (holder instanceof SpongeBlockSnapshot) {
-            if (((SpongeBlockSnapshot) holder).compound != null) {
-                this.compound = (NBTTagCompound) ((SpongeBlockSnapshot) holder).compound.copy();
-            }
+            this.payload = ((SpongeBlockSnapshot) holder).payload;
         }
         return this;
     }
@@ -164,7 +160,7 @@ public SpongeBlockSnapshotBuilder reset() {
         this.worldUuid = null;
         this.coords = null;
         this.manipulators = null;
-        this.compound = null;
+        this.payload = null;
         return this;
     }
 
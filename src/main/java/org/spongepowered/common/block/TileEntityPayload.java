@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
+
+import javax.annotation.Nullable;
+
+/**
+ * The tile entity data of a {@link SpongeBlockSnapshot}.
+ *
+ * <p>A deferred payload keeps a reference to the live tile entity and only
+ * writes it to NBT once the data is actually read. All snapshots taken of
+ * an unchanged tile entity share the same payload, see
+ * {@link IMixinTileEntity#getSnapshotPayload()}. Before the tile entity is
+ * changed again it {@link #detach() detaches} the payload, which serializes
+ * the old data if nobody has read it yet. The tile entity only holds its
+ * payload weakly, so a payload that no snapshot refers to anymore is
+ * dropped without being serialized.</p>
+ *
+ * <p>The compound returned by {@link #get()} is shared and must not be
+ * modified.</p>
+ */
+public final class TileEntityPayload {
+
+    @Nullable private TileEntity tileEntity;
+    @Nullable private NBTTagCompound compound;
+
+    private TileEntityPayload(@Nullable TileEntity tileEntity, @Nullable NBTTagCompound compound) {
+        this.tileEntity = tileEntity;
+        this.compound = compound;
+    }
+
+    /**
+     * Creates a payload that serializes the tile entity on first read.
+     *
+     * @param tileEntity The tile entity
+     * @return The deferred payload
+     */
+    public static TileEntityPayload deferred(TileEntity tileEntity) {
+        return new TileEntityPayload(checkNotNull(tileEntity, "tileEntity"), null);
+    }
+
+    /**
+     * Creates a payload of already serialized data. The compound is not
+     * copied.
+     *
+     * @param compound The tile entity data
+     * @return The payload
+     */
+    public static TileEntityPayload of(NBTTagCompound compound) {
+        return new TileEntityPayload(null, checkNotNull(compound, "compound"));
+    }
+
+    /**
+     * Writes the current state of the tile entity to a new payload.
+     *
+     * @param tileEntity The tile entity
+     * @return The serialized payload
+     */
+    public static TileEntityPayload serialize(TileEntity tileEntity) {
+        final NBTTagCompound compound = new NBTTagCompound();
+        tileEntity.writeToNBT(compound);
+        return new TileEntityPayload(null, compound);
+    }
+
+    public synchronized NBTTagCompound get() {
+        if (this.compound == null) {
+            final NBTTagCompound compound = new NBTTagCompound();
+            this.tileEntity.writeToNBT(compound);
+            this.compound = compound;
+            this.tileEntity = null;
+        }
+        return this.compound;
+    }
+
+    /**
+     * Freezes the payload before the tile entity is changed.
+     */
+    public synchronized void detach() {
+        if (this.compound == null) {
+            get();
+        }
+    }
+
+}
@@ -40,6 +40,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.IMixinCommandSender;
 import org.spongepowered.common.service.permission.SpongePermissionService;
+import org.spongepowered.common.service.permission.base.GlobalMemorySubjectData;
 import org.spongepowered.common.service.permission.base.SpongeSubject;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
@@ -53,7 +54,7 @@ public class WrapperCommandSource extends SpongeSubject implements CommandSource
 
     private WrapperCommandSource(ICommandSender sender) {
         this.sender = sender;
-        this.data = new MemorySubjectData(SpongeImpl.getGame().getServiceManager().provide(PermissionService.class).get());
+        this.data = new GlobalMemorySubjectData(SpongeImpl.getGame().getServiceManager().provide(PermissionService.class).get());
 
         // ICommandSenders have a *very* basic understanding of permissions, so
         // get what we can.
@@ -0,0 +1,256 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.configuration;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.block.Block;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.common.entity.EntityActivationRange;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable, flattened view of the settings a world uses, read from
+ * the world, dimension or global config, whichever is active.
+ *
+ * <p>Worlds keep the snapshot and replace it once any config has been
+ * (re)loaded, so hot paths only read final fields instead of resolving
+ * the active config and walking its categories. Blacklists are resolved
+ * to block ids when the snapshot is built.</p>
+ */
+public final class EffectiveWorldConfig {
+
+    private static final AtomicInteger currentVersion = new AtomicInteger();
+
+    private final int version;
+    private final SpongeConfig<?> config;
+
+    private final boolean blockTrackingEnabled;
+    private final BitSet blockTrackingBlacklist = new BitSet();
+    private final Set<String> unknownBlockTrackingBlacklist;
+
+    private final boolean logBlockBreak;
+    private final boolean logBlockModify;
+    private final boolean logBlockPlace;
+    private final boolean logBlockPopulate;
+    private final boolean logBlockTrack;
+    private final boolean logChunkLoad;
+    private final boolean logChunkUnload;
+    private final boolean logEntitySpawn;
+    private final boolean logEntityDespawn;
+    private final boolean logEntityDeath;
+    private final boolean logEntityCollisionChecks;
+    private final boolean logEntitySpeedRemoval;
+    private final boolean logWithStackTraces;
+
+    private final int maxBoundingBoxSize;
+    private final int maxSpeed;
+    private final int maxCollisionSize;
+
+    private final int[] activationRanges = new int[EntityActivationRange.ACTIVATION_TYPE_MISC + 1];
+    private final int maxActivationRange;
+
+    private EffectiveWorldConfig(SpongeConfig<?> config, int version) {
+        this.version = version;
+        this.config = config;
+        final SpongeConfig.ConfigBase base = config.getConfig();
+
+        final SpongeConfig.BlockTrackingCategory blockTracking = base.getBlockTracking();
+        this.blockTrackingEnabled = blockTracking.isEnabled();
+        final ImmutableSet.Builder<String> unknownBlocks = ImmutableSet.builder();
+        for (String id : blockTracking.getBlockBlacklist()) {
+            final Block block = Block.getBlockFromName(id);
+            if (block != null) {
+                this.blockTrackingBlacklist.set(Block.getIdFromBlock(block));
+            } else {
+                // Not registered (yet), compared by id instead
+                unknownBlocks.add(id);
+            }
+        }
+        this.unknownBlockTrackingBlacklist = unknownBlocks.build();
+
+        final SpongeConfig.LoggingCategory logging = base.getLogging();
+        this.logBlockBreak = logging.blockBreakLogging();
+        this.logBlockModify = logging.blockModifyLogging();
+        this.logBlockPlace = logging.blockPlaceLogging();
+        this.logBlockPopulate = logging.blockPopulateLogging();
+        this.logBlockTrack = logging.blockTrackLogging();
+        this.logChunkLoad = logging.chunkLoadLogging();
+        this.logChunkUnload = logging.chunkUnloadLogging();
+        this.logEntitySpawn = logging.entitySpawnLogging();
+        this.logEntityDespawn = logging.entityDespawnLogging();
+        this.logEntityDeath = logging.entityDeathLogging();
+        this.logEntityCollisionChecks = logging.logEntityCollisionChecks();
+        this.logEntitySpeedRemoval = logging.logEntitySpeedRemoval();
+        this.logWithStackTraces = logging.logWithStackTraces();
+
+        final SpongeConfig.EntityCategory entity = base.getEntity();
+        this.maxBoundingBoxSize = entity.getMaxBoundingBoxSize();
+        this.maxSpeed = entity.getMaxSpeed();
+        this.maxCollisionSize = entity.getMaxCollisionSize();
+
+        final SpongeConfig.EntityActivationRangeCategory activationRange = base.getEntityActivationRange();
+        this.activationRanges[EntityActivationRange.ACTIVATION_TYPE_MONSTER] = activationRange.getMonsterActivationRange();
+        this.activationRanges[EntityActivationRange.ACTIVATION_TYPE_CREATURE] = activationRange.getCreatureActivationRange();
+        this.activationRanges[EntityActivationRange.ACTIVATION_TYPE_AQUATIC] = activationRange.getAquaticActivationRange();
+        this.activationRanges[EntityActivationRange.ACTIVATION_TYPE_AMBIENT] = activationRange.getAmbientActivationRange();
+        this.activationRanges[EntityActivationRange.ACTIVATION_TYPE_MISC] = activationRange.getMiscActivationRange();
+        int maxRange = 0;
+        for (int range : this.activationRanges) {
+            maxRange = Math.max(maxRange, range);
+        }
+        this.maxActivationRange = maxRange;
+    }
+
+    /**
+     * Creates a snapshot of the given config.
+     *
+     * @param config The active config of a world
+     * @return The snapshot
+     */
+    public static EffectiveWorldConfig of(SpongeConfig<?> config) {
+        // Read the version first, so a reload while building leaves the snapshot outdated
+        final int version = currentVersion.get();
+        return new EffectiveWorldConfig(config, version);
+    }
+
+    /**
+     * Marks every snapshot as outdated, called whenever a config is loaded
+     * or changed.
+     */
+    public static void invalidateAll() {
+        currentVersion.incrementAndGet();
+    }
+
+    /**
+     * Checks whether no config has been loaded or changed since this
+     * snapshot was built.
+     *
+     * @return True if the snapshot is up to date
+     */
+    public boolean isCurrent() {
+        return this.version == currentVersion.get();
+    }
+
+    /**
+     * Gets the config this snapshot was built from.
+     *
+     * @return The config
+     */
+    public SpongeConfig<?> getConfig() {
+        return this.config;
+    }
+
+    public boolean isBlockTrackingEnabled() {
+        return this.blockTrackingEnabled;
+    }
+
+    public boolean isBlockTrackingBlacklisted(Block block) {
+        return this.blockTrackingBlacklist.get(Block.getIdFromBlock(block))
+                || !this.unknownBlockTrackingBlacklist.isEmpty() && this.unknownBlockTrackingBlacklist.contains(((BlockType) block).getId());
+    }
+
+    public boolean logBlockBreak() {
+        return this.logBlockBreak;
+    }
+
+    public boolean logBlockModify() {
+        return this.logBlockModify;
+    }
+
+    public boolean logBlockPlace() {
+        return this.logBlockPlace;
+    }
+
+    public boolean logBlockPopulate() {
+        return this.logBlockPopulate;
+    }
+
+    public boolean logBlockTrack() {
+        return this.logBlockTrack;
+    }
+
+    public boolean logChunkLoad() {
+        return this.logChunkLoad;
+    }
+
+    public boolean logChunkUnload() {
+        return this.logChunkUnload;
+    }
+
+    public boolean logEntitySpawn() {
+        return this.logEntitySpawn;
+    }
+
+    public boolean logEntityDespawn() {
+        return this.logEntityDespawn;
+    }
+
+    public boolean logEntityDeath() {
+        return this.logEntityDeath;
+    }
+
+    public boolean logEntityCollisionChecks() {
+        return this.logEntityCollisionChecks;
+    }
+
+    public boolean logEntitySpeedRemoval() {
+        return this.logEntitySpeedRemoval;
+    }
+
+    public boolean logWithStackTraces() {
+        return this.logWithStackTraces;
+    }
+
+    public int getMaxBoundingBoxSize() {
+        return this.maxBoundingBoxSize;
+    }
+
+    public int getMaxSpeed() {
+        return this.maxSpeed;
+    }
+
+    public int getMaxCollisionSize() {
+        return this.maxCollisionSize;
+    }
+
+    /**
+     * Gets the activation range of an activation type of
+     * {@link EntityActivationRange}.
+     *
+     * @param activationType The activation type
+     * @return The range in blocks, 0 or less if disabled
+     */
+    public int getActivationRange(byte activationType) {
+        return this.activationRanges[activationType];
+    }
+
+    public int getMaxActivationRange() {
+        return this.maxActivationRange;
+    }
+
+}
@@ -43,6 +43,7 @@
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetTrie;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -94,9 +95,19 @@ public enum Type {
     public static final String ENTITY_HUMAN_PLAYER_LIST_REMOVE_DELAY = "human-player-list-remove-delay";
     public static final String ENTITY_PAINTING_RESPAWN_DELAY = "entity-painting-respawn-delay";
 
+    // ASYNC SCHEDULER
+    public static final String ASYNC_SCHEDULER = "async-scheduler";
+    public static final String ASYNC_SCHEDULER_THREAD_COUNT = "thread-count";
+    public static final String ASYNC_SCHEDULER_MAX_RUNNING_PER_PLUGIN = "max-running-tasks-per-plugin";
+    public static final String ASYNC_SCHEDULER_MAX_QUEUED_PER_PLUGIN = "max-queued-tasks-per-plugin";
+    public static final String ASYNC_SCHEDULER_VIRTUAL_THREADS = "virtual-threads";
+
     // BUNGEECORD
     public static final String BUNGEECORD_IP_FORWARDING = "ip-forwarding";
 
+    // EVENTS
+    public static final String EVENTS_COMPILED_DISPATCH = "compiled-dispatch";
+
     // GENERAL
     public static final String GENERAL_DISABLE_WARNINGS = "disable-warnings";
     public static final String GENERAL_CHUNK_LOAD_OVERRIDE = "chunk-load-override";
@@ -194,6 +205,7 @@ public void reload() {
                             TypeSerializers.getDefaultSerializers().newChild().registerType(TypeToken.of(IpSet.class), new IpSet.IpSetSerializer()))
                     .setHeader(HEADER));
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            onConfigChanged();
         } catch (Exception e) {
             SpongeImpl.getLogger().error("Failed to load configuration", e);
         }
@@ -204,11 +216,19 @@ public CompletableFuture<CommentedConfigurationNode> updateSetting(String key, O
             CommentedConfigurationNode upd = getSetting(key);
             upd.setValue(value);
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            onConfigChanged();
             this.loader.save(this.root);
             return upd;
         }, ForkJoinPool.commonPool());
     }
 
+    private void onConfigChanged() {
+        if (this.configBase instanceof GlobalConfig) {
+            ((GlobalConfig) this.configBase).buildIpSetTrie();
+        }
+        EffectiveWorldConfig.invalidateAll();
+    }
+
     public CommentedConfigurationNode getRootNode() {
         return this.root.getNode(this.modId);
     }
@@ -247,13 +267,29 @@ public static class GlobalConfig extends ConfigBase {
         @Setting("ip-sets")
         private Map<String, List<IpSet>> ipSets = new HashMap<>();
 
+        private volatile IpSetTrie ipSetTrie = IpSetTrie.of(this.ipSets);
+
         @Setting(value = MODULE_BUNGEECORD)
         private BungeeCordCategory bungeeCord = new BungeeCordCategory();
 
+        @Setting
+        private EventsCategory events = new EventsCategory();
+
+        @Setting(value = ASYNC_SCHEDULER)
+        private AsyncSchedulerCategory asyncScheduler = new AsyncSchedulerCategory();
+
         public BungeeCordCategory getBungeeCord() {
             return this.bungeeCord;
         }
 
+        public EventsCategory getEvents() {
+            return this.events;
+        }
+
+        public AsyncSchedulerCategory getAsyncScheduler() {
+            return this.asyncScheduler;
+        }
+
         public SqlCategory getSql() {
             return this.sql;
         }
@@ -279,6 +315,20 @@ public Predicate<InetAddress> apply(List<IpSet> input) {
         public Predicate<InetAddress> getIpSet(String name) {
             return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
         }
+
+        /**
+         * Gets all ip sets in a single structure for matching, rebuilt
+         * whenever the config is loaded.
+         *
+         * @return The ip set trie
+         */
+        public IpSetTrie getIpSetTrie() {
+            return this.ipSetTrie;
+        }
+
+        void buildIpSetTrie() {
+            this.ipSetTrie = IpSetTrie.of(this.ipSets);
+        }
     }
 
     public static class DimensionConfig extends ConfigBase {
@@ -555,6 +605,74 @@ public boolean getIpForwarding() {
         }
     }
 
+    @ConfigSerializable
+    public static class EventsCategory extends Category {
+
+        @Setting(value = EVENTS_COMPILED_DISPATCH,
+                comment = "If enabled, generates an invoker class per event type which calls its listeners directly instead of iterating them")
+        private boolean compiledDispatch = false;
+
+        public boolean useCompiledDispatch() {
+            return this.compiledDispatch;
+        }
+
+        public void setCompiledDispatch(boolean compiledDispatch) {
+            this.compiledDispatch = compiledDispatch;
+        }
+    }
+
+    @ConfigSerializable
+    public static class AsyncSchedulerCategory extends Category {
+
+        @Setting(value = ASYNC_SCHEDULER_THREAD_COUNT,
+                comment = "Max number of threads running asynchronous tasks. Set to 0 to start threads as needed, as asynchronous tasks "
+                        + "usually block on I/O")
+        private int threadCount = 0;
+        @Setting(value = ASYNC_SCHEDULER_MAX_RUNNING_PER_PLUGIN,
+                comment = "Max number of asynchronous tasks of a single plugin running at the same time. With a thread count set, "
+                        + "at most one less than the thread count so other plugins always get a thread. Set to 0 for no other limit")
+        private int maxRunningTasksPerPlugin = 16;
+        @Setting(value = ASYNC_SCHEDULER_MAX_QUEUED_PER_PLUGIN,
+                comment = "Max number of asynchronous tasks of a single plugin waiting for a free slot before new tasks are rejected. "
+                        + "Set to 0 to disable")
+        private int maxQueuedTasksPerPlugin = 10000;
+        @Setting(value = ASYNC_SCHEDULER_VIRTUAL_THREADS,
+                comment = "Run asynchronous tasks on virtual threads, for tasks which block on I/O. Requires Java 21 or later")
+        private boolean virtualThreads = false;
+
+        public int getThreadCount() {
+            return this.threadCount;
+        }
+
+        public void setThreadCount(int threadCount) {
+            this.threadCount = Math.max(0, threadCount);
+        }
+
+        public int getMaxRunningTasksPerPlugin() {
+            return this.maxRunningTasksPerPlugin;
+        }
+
+        public void setMaxRunningTasksPerPlugin(int maxRunningTasksPerPlugin) {
+            this.maxRunningTasksPerPlugin = Math.max(0, maxRunningTasksPerPlugin);
+        }
+
+        public int getMaxQueuedTasksPerPlugin() {
+            return this.maxQueuedTasksPerPlugin;
+        }
+
+        public void setMaxQueuedTasksPerPlugin(int maxQueuedTasksPerPlugin) {
+            this.maxQueuedTasksPerPlugin = Math.max(0, maxQueuedTasksPerPlugin);
+        }
+
+        public boolean useVirtualThreads() {
+            return this.virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+
     @ConfigSerializable
     public static class EntityActivationRangeCategory extends Category {
 
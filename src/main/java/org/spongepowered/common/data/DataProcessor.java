@@ -57,6 +57,20 @@
 
     boolean supports(EntityType entityType);
 
+    /**
+     * Checks if holders of the given type could be supported by this
+     * processor at all. Returning false lets the {@link DataProcessor}s
+     * of a manipulator skip this processor for every holder of the type,
+     * so this may only be false if {@link #supports(DataHolder)} is false
+     * for all of them.
+     *
+     * @param holderType The concrete class of a data holder
+     * @return False if no holder of the type is supported
+     */
+    default boolean supportsHolderType(Class<?> holderType) {
+        return true;
+    }
+
     /**
      * Attempts to get the given {@link DataManipulator} of type {@code T} if
      * and only if the manipulator's required data exists from the
@@ -24,43 +24,47 @@
  */
 package org.spongepowered.common.data;
 
-import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.ReflectionUtil;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
 
 public final class ImmutableDataCachingUtil {
 
     private ImmutableDataCachingUtil() {}
 
     public static final int CACHE_LIMIT_FOR_INDIVIDUAL_TYPE = 100;
-    public static final int MANIPULATOR_CACHE_LIMIT = 100000;
-    public static final int VALUE_CACHE_LIMIT = 100000;
+    // Instances kept per class (and per key for values), past this they are created on every call
+    public static final int INSTANCE_CACHE_LIMIT = 1024;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
-        .build();
+    private static final ClassValue<InstanceTable> manipulatorCache = new ClassValue<InstanceTable>() {
+        @Override
+        protected InstanceTable computeValue(Class<?> type) {
+            return new InstanceTable(type);
+        }
+    };
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
-        .maximumSize(VALUE_CACHE_LIMIT)
-        .build();
+    private static final ClassValue<ConcurrentMap<Key<?>, InstanceTable>> valueCache = new ClassValue<ConcurrentMap<Key<?>, InstanceTable>>() {
+        @Override
+        protected ConcurrentMap<Key<?>, InstanceTable> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     /**
-     * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
-     * does not have the desired {@link ImmutableDataManipulator} with relative
+     * Retrieves a basic manipulator from the cache. If the cache does not
+     * have the desired {@link ImmutableDataManipulator} with relative
      * values, a new one is created and submitted to the cache for future
      * retrieval.
      *
@@ -74,57 +78,187 @@ private ImmutableDataCachingUtil() {}
      * @return The newly created immutable data manipulators
      */
     @SuppressWarnings("unchecked")
-    public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
-        try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
-        } catch (ExecutionException e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+    public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, Object... args) {
+        if (args == null) {
+            args = new Object[] {null};
+        }
+        final InstanceTable table = manipulatorCache.get(immutableClass);
+        final boolean single = args.length == 1;
+        Object instance = single ? table.getSingle(args[0]) : table.getTuple(args);
+        if (instance == null) {
+            instance = table.construct(args);
+            if (single) {
+                table.putSingle(args[0], instance);
+            } else {
+                table.putTuple(args, instance);
+            }
         }
+        return (T) instance;
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
-        try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        } else {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+        final InstanceTable table = valueCache.get(valueClass).computeIfAbsent(usedKey, key -> new InstanceTable(valueClass));
+        if (extraArgs == null || extraArgs.length == 0) {
+            // Keyed by the value alone, the default is nearly always the same for a key
+            Object instance = table.getSingle(arg);
+            if (instance == null || !Objects.equals(((ImmutableValue<?>) instance).getDefault(), defaultArg)) {
+                instance = table.construct(usedKey, defaultArg, arg);
+                table.putSingle(arg, instance);
+            }
+            return (T) instance;
+        }
+        final Object[] args = new Object[3 + extraArgs.length];
+        args[0] = usedKey;
+        args[1] = defaultArg;
+        args[2] = arg;
+        System.arraycopy(extraArgs, 0, args, 3, extraArgs.length);
+        final Object[] tuple = Arrays.copyOfRange(args, 1, args.length);
+        Object instance = table.getTuple(tuple);
+        if (instance == null) {
+            instance = table.construct(args);
+            table.putTuple(tuple, instance);
+        }
+        return (T) instance;
+    }
+
+    /**
+     * The cached instances of a single class. Booleans and small ints are
+     * looked up in flyweight arrays, other single arguments such as catalog
+     * types are used as the key themselves, so none of these lookups
+     * allocate. Only calls with several arguments are keyed by a tuple.
+     */
+    private static final class InstanceTable {
+
+        private static final int SMALL_INT_LIMIT = 256;
+
+        private final Class<?> instanceClass;
+        private final AtomicReferenceArray<Object> booleans = new AtomicReferenceArray<>(2);
+        @Nullable private volatile AtomicReferenceArray<Object> smallInts;
+        private final ConcurrentMap<Object, Object> singles = new ConcurrentHashMap<>();
+        private final ConcurrentMap<ArgumentTuple, Object> tuples = new ConcurrentHashMap<>();
+        @Nullable private volatile BoundConstructor constructor;
+
+        InstanceTable(Class<?> instanceClass) {
+            this.instanceClass = instanceClass;
+        }
+
+        @Nullable
+        Object getSingle(@Nullable Object arg) {
+            if (arg instanceof Boolean) {
+                return this.booleans.get((Boolean) arg ? 1 : 0);
+            }
+            if (isSmallInt(arg)) {
+                final AtomicReferenceArray<Object> ints = this.smallInts;
+                return ints == null ? null : ints.get((Integer) arg);
+            }
+            return arg == null ? null : this.singles.get(arg);
+        }
+
+        void putSingle(@Nullable Object arg, Object instance) {
+            if (arg instanceof Boolean) {
+                this.booleans.set((Boolean) arg ? 1 : 0, instance);
+            } else if (isSmallInt(arg)) {
+                AtomicReferenceArray<Object> ints = this.smallInts;
+                if (ints == null) {
+                    synchronized (this) {
+                        ints = this.smallInts;
+                        if (ints == null) {
+                            this.smallInts = ints = new AtomicReferenceArray<>(SMALL_INT_LIMIT);
                         }
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
                     }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
+                }
+                ints.set((Integer) arg, instance);
+            } else if (arg != null && this.singles.size() < INSTANCE_CACHE_LIMIT) {
+                this.singles.put(arg, instance);
+            }
+        }
+
+        private static boolean isSmallInt(@Nullable Object arg) {
+            return arg instanceof Integer && (Integer) arg >= 0 && (Integer) arg < SMALL_INT_LIMIT;
+        }
+
+        @Nullable
+        Object getTuple(Object[] args) {
+            return this.tuples.get(new ArgumentTuple(args));
         }
+
+        void putTuple(Object[] args, Object instance) {
+            if (this.tuples.size() < INSTANCE_CACHE_LIMIT) {
+                this.tuples.put(new ArgumentTuple(args), instance);
+            }
+        }
+
+        Object construct(Object... args) {
+            BoundConstructor bound = this.constructor;
+            try {
+                if (bound == null || !bound.accepts(args)) {
+                    bound = new BoundConstructor(args, ReflectionUtil.findConstructorHandle(this.instanceClass, args));
+                    this.constructor = bound;
+                }
+                return bound.handle.invokeExact(args);
+            } catch (Throwable e) {
+                SpongeImpl.getLogger().error("Could not construct an instance of " + this.instanceClass.getCanonicalName() + " with the args: "
+                                             + Arrays.toString(args), e);
+                throw new UnsupportedOperationException("Could not construct an instance of " + this.instanceClass.getName() + " with the args: "
+                                                        + Arrays.toString(args), e);
+            }
+        }
+
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    /**
+     * A constructor handle, reused as long as it is called with arguments
+     * of the same classes it was found with.
+     */
+    private static final class BoundConstructor {
+
+        private final Class<?>[] argumentClasses;
+        final MethodHandle handle;
+
+        BoundConstructor(Object[] args, MethodHandle handle) {
+            this.argumentClasses = new Class<?>[args.length];
+            for (int i = 0; i < args.length; i++) {
+                this.argumentClasses[i] = args[i] == null ? null : args[i].getClass();
+            }
+            this.handle = handle;
+        }
+
+        boolean accepts(Object[] args) {
+            if (args.length != this.argumentClasses.length) {
+                return false;
+            }
+            for (int i = 0; i < args.length; i++) {
+                if ((args[i] == null ? null : args[i].getClass()) != this.argumentClasses[i]) {
+                    return false;
+                }
             }
+            return true;
+        }
+
+    }
+
+    private static final class ArgumentTuple {
+
+        private final Object[] args;
+        private final int hashCode;
+
+        ArgumentTuple(Object[] args) {
+            this.args = args;
+            this.hashCode = Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ArgumentTuple && Arrays.deepEquals(this.args, ((ArgumentTuple) obj).args);
         }
-        return builder.toString();
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
     }
+
 }
@@ -139,6 +139,19 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if containers of the given type could be supported by this
+     * processor at all. This may only be false if
+     * {@link #supports(ValueContainer)} is false for every container of
+     * the type.
+     *
+     * @param containerType The concrete class of a value container
+     * @return False if no container of the type is supported
+     */
+    default boolean supportsContainerType(Class<?> containerType) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
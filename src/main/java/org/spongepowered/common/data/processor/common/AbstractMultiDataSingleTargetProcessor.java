@@ -50,6 +50,11 @@ public AbstractMultiDataSingleTargetProcessor(Class<Holder> holderClass) {
         this.holderClass = checkNotNull(holderClass);
     }
 
+    @Override
+    public boolean supportsHolderType(Class<?> holderType) {
+        return this.holderClass.isAssignableFrom(holderType);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean supports(DataHolder dataHolder) {
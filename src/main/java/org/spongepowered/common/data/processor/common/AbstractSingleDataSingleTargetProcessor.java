@@ -61,6 +61,11 @@ protected boolean supports(Holder entity) {
 
     protected abstract ImmutableValue<T> constructImmutableValue(T value);
 
+    @Override
+    public boolean supportsHolderType(Class<?> holderType) {
+        return this.holderClass.isAssignableFrom(holderType);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean supports(DataHolder dataHolder) {
@@ -67,6 +67,11 @@ protected boolean supports(C container) {
         return true;
     }
 
+    @Override
+    public boolean supportsContainerType(Class<?> containerType) {
+        return this.containerClass.isAssignableFrom(containerType);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean supports(ValueContainer<?> container) {
@@ -26,6 +26,7 @@
 
 import co.aikar.timings.SpongeTimingsFactory;
 import co.aikar.timings.Timing;
+import co.aikar.timings.Timings;
 import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataHolder;
@@ -37,22 +38,44 @@
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.entity.EntityType;
-import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.DataProcessor;
 
 import java.util.Optional;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
 
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
-    private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final ImmutableList<DataProcessor<M, I>> processors;
+    private final Timing[] timings;
+    // The indices of the processors that may support holders of a class, an empty array if none do
+    private final ClassValue<int[]> dispatchTable = new ClassValue<int[]>() {
+        @Override
+        protected int[] computeValue(Class<?> type) {
+            return IntStream.range(0, DataProcessorDelegate.this.processors.size())
+                    .filter(index -> DataProcessorDelegate.this.processors.get(index).supportsHolderType(type))
+                    .toArray();
+        }
+    };
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
-        ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
-        for (DataProcessor<M, I> processor : processors) {
-            builder.add(new Tuple<>(processor, SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processor.getClass().getCanonicalName())));
+        this.processors = processors;
+        this.timings = new Timing[processors.size()];
+        for (int i = 0; i < this.timings.length; i++) {
+            this.timings[i] = SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processors.get(i).getClass().getCanonicalName());
         }
-        this.processors = builder.build();
+    }
+
+    private int[] getProcessors(DataHolder dataHolder) {
+        return this.dispatchTable.get(dataHolder.getClass());
+    }
+
+    // Timing every processor is only worth its overhead with verbose timings
+    @Nullable
+    private Timing startTiming(int index) {
+        return Timings.isVerboseTimingsEnabled() ? this.timings[index].startTiming() : null;
     }
 
     @Override
@@ -62,13 +85,12 @@ public int getPriority() {
 
     @Override
     public boolean supports(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            if (tuple.getFirst().supports(dataHolder)) {
-                tuple.getSecond().stopTiming();
-                return true;
+        for (int index : getProcessors(dataHolder)) {
+            try (Timing timing = startTiming(index)) {
+                if (this.processors.get(index).supports(dataHolder)) {
+                    return true;
+                }
             }
-            tuple.getSecond().stopTiming();
         }
         return false;
     }
@@ -78,48 +100,51 @@ public boolean supports(EntityType entityType) {
         return false;
     }
 
+    @Override
+    public boolean supportsHolderType(Class<?> holderType) {
+        return this.dispatchTable.get(holderType).length != 0;
+    }
+
     @Override
     public Optional<M> from(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().from(dataHolder);
-                tuple.getSecond().stopTiming();
-                if (optional.isPresent()) {
-                    return optional;
+        for (int index : getProcessors(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            try (Timing timing = startTiming(index)) {
+                if (processor.supports(dataHolder)) {
+                    final Optional<M> optional = processor.from(dataHolder);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
             }
-            tuple.getSecond().stopTiming();
-
         }
         return Optional.empty();
     }
 
     @Override
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
-                tuple.getSecond().stopTiming();
-                if (optional.isPresent()) {
-                    return optional;
+        for (int index : getProcessors(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            try (Timing timing = startTiming(index)) {
+                if (processor.supports(dataHolder)) {
+                    final Optional<M> optional = processor.fill(dataHolder, manipulator, overlap);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
             }
-            tuple.getSecond().stopTiming();
-
         }
         return Optional.empty();
     }
 
     @Override
     public Optional<M> fill(DataContainer container, M m) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            final Optional<M> optional = tuple.getFirst().fill(container, m);
-            tuple.getSecond().stopTiming();
-            if (optional.isPresent()) {
-                return optional;
+        for (int index = 0; index < this.timings.length; index++) {
+            try (Timing timing = startTiming(index)) {
+                final Optional<M> optional = this.processors.get(index).fill(container, m);
+                if (optional.isPresent()) {
+                    return optional;
+                }
             }
         }
         return Optional.empty();
@@ -127,29 +152,28 @@ public Optional<M> fill(DataContainer container, M m) {
 
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    tuple.getSecond().stopTiming();
-                    return result;
+        for (int index : getProcessors(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            try (Timing timing = startTiming(index)) {
+                if (processor.supports(dataHolder)) {
+                    final DataTransactionResult result = processor.set(dataHolder, manipulator, function);
+                    if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                        return result;
+                    }
                 }
             }
-            tuple.getSecond().stopTiming();
         }
         return DataTransactionBuilder.failNoData();
     }
 
     @Override
     public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutable) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            final Optional<I> optional = tuple.getFirst().with(key, value, immutable);
-            tuple.getSecond().stopTiming();
-            if (optional.isPresent()) {
-                return optional;
-
+        for (int index = 0; index < this.timings.length; index++) {
+            try (Timing timing = startTiming(index)) {
+                final Optional<I> optional = this.processors.get(index).with(key, value, immutable);
+                if (optional.isPresent()) {
+                    return optional;
+                }
             }
         }
         return Optional.empty();
@@ -157,33 +181,32 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
 
     @Override
     public DataTransactionResult remove(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
-                tuple.getSecond().stopTiming();
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    return result;
+        for (int index : getProcessors(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            try (Timing timing = startTiming(index)) {
+                if (processor.supports(dataHolder)) {
+                    final DataTransactionResult result = processor.remove(dataHolder);
+                    if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                        return result;
+                    }
                 }
             }
-            tuple.getSecond().stopTiming();
-
         }
         return DataTransactionBuilder.failNoData();
     }
 
     @Override
     public Optional<M> createFrom(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
-                tuple.getSecond().stopTiming();
-                if (optional.isPresent()) {
-                    return optional;
+        for (int index : getProcessors(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            try (Timing timing = startTiming(index)) {
+                if (processor.supports(dataHolder)) {
+                    final Optional<M> optional = processor.createFrom(dataHolder);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
             }
-            tuple.getSecond().stopTiming();
         }
         return Optional.empty();
     }
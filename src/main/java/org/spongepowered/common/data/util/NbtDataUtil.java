@@ -103,6 +103,11 @@ private NbtDataUtil() {
     public static final String SPONGE_ENTITY_CREATOR = "Creator";
     public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
     public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+    public static final String SPONGE_TRACKED_BLOCKS = "TrackedBlocks";
+    public static final String SPONGE_TRACKED_BLOCKS_VERSION = "Version";
+    public static final String SPONGE_TRACKED_BLOCKS_POSITIONS = "Positions";
+    public static final String SPONGE_TRACKED_BLOCKS_OWNERS = "Owners";
+    public static final String SPONGE_TRACKED_BLOCKS_NOTIFIERS = "Notifiers";
     public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
     public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
     public static final String PROJECTILE_DAMAGE_AMOUNT = "damageAmount";
@@ -0,0 +1,246 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraft.entity.boss.EntityDragonPart;
+import net.minecraft.entity.boss.EntityWither;
+import net.minecraft.entity.effect.EntityWeatherEffect;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityFallingBlock;
+import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.monster.IMob;
+import net.minecraft.entity.passive.EntityAmbientCreature;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.passive.EntityVillager;
+import net.minecraft.entity.passive.EntityWaterMob;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.projectile.EntityArrow;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.entity.projectile.EntityThrowable;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.configuration.EffectiveWorldConfig;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.util.SpongeHooks;
+
+/**
+ * Keeps entities that are far away from every player from running their
+ * full update. Once per tick the entities around each player are marked
+ * active, everything else only receives a heartbeat through
+ * {@link IMixinEntity#inactiveTick()} until a player comes close again.
+ */
+public final class EntityActivationRange {
+
+    public static final byte ACTIVATION_TYPE_MONSTER = 1;
+    public static final byte ACTIVATION_TYPE_CREATURE = 2;
+    public static final byte ACTIVATION_TYPE_AQUATIC = 3;
+    public static final byte ACTIVATION_TYPE_AMBIENT = 4;
+    public static final byte ACTIVATION_TYPE_MISC = 5;
+
+    // Inactive entities still get a full update this often, so they can notice changes around them
+    private static final int WAKE_UP_INTERVAL = 20;
+
+    private EntityActivationRange() {
+    }
+
+    public static boolean isEnabled() {
+        return SpongeImpl.getGlobalConfig().getConfig().getModules().usePluginEntityActivation();
+    }
+
+    /**
+     * Gets the range group of the entity, decided once when it is created.
+     *
+     * @param entity The entity
+     * @return The activation type
+     */
+    public static byte initializeEntityActivationType(Entity entity) {
+        if (entity instanceof EntityWaterMob) {
+            return ACTIVATION_TYPE_AQUATIC;
+        } else if (entity instanceof EntityAmbientCreature) {
+            return ACTIVATION_TYPE_AMBIENT;
+        } else if (entity instanceof IMob) {
+            return ACTIVATION_TYPE_MONSTER;
+        } else if (entity instanceof EntityCreature) {
+            return ACTIVATION_TYPE_CREATURE;
+        }
+        return ACTIVATION_TYPE_MISC;
+    }
+
+    /**
+     * Checks whether the entity is never put to sleep, either because of
+     * what it is or because its range group is disabled in the config.
+     *
+     * @param entity The entity
+     * @return True if the entity is always active
+     */
+    public static boolean initializeEntityActivationState(Entity entity) {
+        if (entity.worldObj == null || entity.worldObj.isRemote) {
+            return true;
+        }
+
+        if (entity instanceof EntityPlayer
+                || entity instanceof EntityThrowable
+                || entity instanceof EntityArrow
+                || entity instanceof EntityFireball
+                || entity instanceof EntityDragon
+                || entity instanceof EntityDragonPart
+                || entity instanceof EntityWither
+                || entity instanceof EntityWeatherEffect
+                || entity instanceof EntityTNTPrimed
+                || entity instanceof EntityFallingBlock
+                || entity instanceof EntityFireworkRocket
+                || entity instanceof EntityEnderCrystal) {
+            return true;
+        }
+
+        return SpongeHooks.getEffectiveConfig(entity.worldObj).getActivationRange(initializeEntityActivationType(entity)) <= 0;
+    }
+
+    /**
+     * Marks every entity within the activation range of a player as active
+     * for the current tick.
+     *
+     * @param world The world being ticked
+     */
+    public static void activateEntities(World world) {
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+        final EffectiveWorldConfig config = SpongeHooks.getEffectiveConfig(world);
+        final int maxRange = config.getMaxActivationRange();
+        if (maxRange <= 0) {
+            return;
+        }
+
+        final AxisAlignedBB[] boxes = new AxisAlignedBB[ACTIVATION_TYPE_MISC + 1];
+        for (EntityPlayer player : world.playerEntities) {
+            ((IMixinEntity) player).setActivatedTick(currentTick);
+            for (byte type = ACTIVATION_TYPE_MONSTER; type <= ACTIVATION_TYPE_MISC; type++) {
+                final int range = config.getActivationRange(type);
+                boxes[type] = player.getEntityBoundingBox().expand(range, 256, range);
+            }
+
+            final int minX = MathHelper.floor_double(player.posX - maxRange) >> 4;
+            final int maxX = MathHelper.floor_double(player.posX + maxRange) >> 4;
+            final int minZ = MathHelper.floor_double(player.posZ - maxRange) >> 4;
+            final int maxZ = MathHelper.floor_double(player.posZ + maxRange) >> 4;
+            for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+                for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                    if (world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                        activateChunkEntities(world.getChunkFromChunkCoords(chunkX, chunkZ), boxes, currentTick);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void activateChunkEntities(Chunk chunk, AxisAlignedBB[] boxes, long currentTick) {
+        for (ClassInheritanceMultiMap entityList : chunk.getEntityLists()) {
+            for (Object object : entityList) {
+                Entity entity = (Entity) object;
+                IMixinEntity spongeEntity = (IMixinEntity) entity;
+                if (currentTick <= spongeEntity.getActivatedTick()) {
+                    continue;
+                }
+                if (spongeEntity.getDefaultActivationState()
+                        || boxes[spongeEntity.getActivationType()].intersectsWith(entity.getEntityBoundingBox())) {
+                    spongeEntity.setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the entity should run its full update this tick.
+     *
+     * @param entity The entity about to be updated
+     * @return True if the entity should be updated normally
+     */
+    public static boolean checkIfActive(Entity entity) {
+        if (!entity.addedToChunk) {
+            return true;
+        }
+
+        final IMixinEntity spongeEntity = (IMixinEntity) entity;
+        if (spongeEntity.getDefaultActivationState()) {
+            return true;
+        }
+
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+        if (spongeEntity.getActivatedTick() >= currentTick) {
+            return true;
+        }
+
+        // Something is riding or being ridden by an active entity
+        if (entity.ridingEntity != null && ((IMixinEntity) entity.ridingEntity).getActivatedTick() >= currentTick
+                || entity.riddenByEntity != null && ((IMixinEntity) entity.riddenByEntity).getActivatedTick() >= currentTick) {
+            return true;
+        }
+
+        if ((currentTick - spongeEntity.getActivatedTick() - 1) % WAKE_UP_INTERVAL == 0) {
+            // Stay awake for a while if the entity is busy with something
+            if (checkEntityImmunities(entity)) {
+                spongeEntity.setActivatedTick(currentTick + WAKE_UP_INTERVAL);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean checkEntityImmunities(Entity entity) {
+        if (entity.isInWater() || entity.fire > 0) {
+            return true;
+        }
+        if (!entity.onGround || entity.riddenByEntity != null || entity.ridingEntity != null) {
+            return true;
+        }
+        if (entity instanceof EntityLivingBase) {
+            EntityLivingBase living = (EntityLivingBase) entity;
+            if (living.hurtTime > 0 || !living.getActivePotionEffects().isEmpty()) {
+                return true;
+            }
+            if (entity instanceof EntityLiving && ((EntityLiving) entity).getAttackTarget() != null) {
+                return true;
+            }
+            if (entity instanceof EntityVillager && ((EntityVillager) entity).isMating()) {
+                return true;
+            }
+            if (entity instanceof EntityAnimal && ((EntityAnimal) entity).isInLove()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import net.minecraft.util.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * Stores the owner and notifier of tracked blocks within a chunk.
+ *
+ * <p>This is an open addressing hash map with linear probing, keyed by
+ * the packed position of a block relative to its chunk (see
+ * {@link #key(BlockPos)}). The user indices of each entry are kept in
+ * parallel int arrays, so a lookup neither boxes nor allocates.</p>
+ */
+public final class PlayerTrackerMap {
+
+    /**
+     * Returned for positions without an owner or notifier.
+     */
+    public static final int NO_INDEX = -1;
+
+    // Packs x = 15, y = -1, z = 15, which is never a valid block position
+    private static final int EMPTY_KEY = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private int[] keys;
+    private int[] owners;
+    private int[] notifiers;
+    private int size;
+    private int resizeThreshold;
+
+    public PlayerTrackerMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Packs the position of a block relative to its chunk. The y coordinate
+     * is kept in the upper 24 bits, z and x in the lower two nibbles.
+     *
+     * @param pos The block position
+     * @return The packed key
+     */
+    public static int key(BlockPos pos) {
+        return (pos.getY() & 0xFFFFFF) << 8 | (pos.getZ() & 0xF) << 4 | pos.getX() & 0xF;
+    }
+
+    public static int keyX(int key) {
+        return key & 0xF;
+    }
+
+    public static int keyY(int key) {
+        return key >>> 8;
+    }
+
+    public static int keyZ(int key) {
+        return (key >> 4) & 0xF;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        Arrays.fill(this.keys, EMPTY_KEY);
+        this.owners = new int[capacity];
+        this.notifiers = new int[capacity];
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int slot(int key) {
+        final int mask = this.keys.length - 1;
+        int slot = mix(key) & mask;
+        while (this.keys[slot] != EMPTY_KEY && this.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(int key) {
+        return this.keys[slot(key)] == key;
+    }
+
+    public int getOwner(int key) {
+        final int slot = slot(key);
+        return this.keys[slot] == key ? this.owners[slot] : NO_INDEX;
+    }
+
+    public int getNotifier(int key) {
+        final int slot = slot(key);
+        return this.keys[slot] == key ? this.notifiers[slot] : NO_INDEX;
+    }
+
+    /**
+     * Sets both user indices of a position. Positions without any index are
+     * not stored.
+     *
+     * @param key The packed position
+     * @param ownerIndex The owner index, or {@link #NO_INDEX}
+     * @param notifierIndex The notifier index, or {@link #NO_INDEX}
+     */
+    public void put(int key, int ownerIndex, int notifierIndex) {
+        if (ownerIndex == NO_INDEX && notifierIndex == NO_INDEX) {
+            return;
+        }
+        int slot = slot(key);
+        if (this.keys[slot] != key) {
+            if (this.size >= this.resizeThreshold) {
+                rehash(this.keys.length << 1);
+                slot = slot(key);
+            }
+            this.keys[slot] = key;
+            this.size++;
+        }
+        this.owners[slot] = ownerIndex;
+        this.notifiers[slot] = notifierIndex;
+    }
+
+    public void setOwner(int key, int ownerIndex) {
+        final int slot = slot(key);
+        put(key, ownerIndex, this.keys[slot] == key ? this.notifiers[slot] : NO_INDEX);
+    }
+
+    public void setNotifier(int key, int notifierIndex) {
+        final int slot = slot(key);
+        put(key, this.keys[slot] == key ? this.owners[slot] : NO_INDEX, notifierIndex);
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = this.keys;
+        final int[] oldOwners = this.owners;
+        final int[] oldNotifiers = this.notifiers;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                final int slot = slot(oldKeys[i]);
+                this.keys[slot] = oldKeys[i];
+                this.owners[slot] = oldOwners[i];
+                this.notifiers[slot] = oldNotifiers[i];
+            }
+        }
+    }
+
+    public void clear() {
+        if (this.size > 0) {
+            allocate(DEFAULT_CAPACITY);
+            this.size = 0;
+        }
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != EMPTY_KEY) {
+                visitor.visit(this.keys[i], this.owners[i], this.notifiers[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+
+        void visit(int key, int ownerIndex, int notifierIndex);
+
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.service.user.UserStorage;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.IMixinWorldInfo;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A reference to the owner or notifier of a tracked block, by the index
+ * of the user in the {@link IMixinWorldInfo} of the world.
+ *
+ * <p>Resolving a {@link User} may have to read the player data file of an
+ * offline user, so it is only done once {@link #getUser()} is called. The
+ * result is kept for the lifetime of the reference.</p>
+ */
+public final class TrackedUser {
+
+    private final World world;
+    private final int index;
+    @Nullable private Optional<UUID> uniqueId;
+    @Nullable private Optional<User> user;
+
+    public TrackedUser(World world, int index) {
+        this.world = world;
+        this.index = index;
+    }
+
+    /**
+     * Gets the index of the user in the world info of the world the user
+     * was tracked in.
+     *
+     * @return The user index
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    public Optional<UUID> getUniqueId() {
+        if (this.uniqueId == null) {
+            this.uniqueId = ((IMixinWorldInfo) this.world.getWorldInfo()).getUniqueIdForIndex(this.index);
+        }
+        return this.uniqueId;
+    }
+
+    public Optional<User> getUser() {
+        if (this.user == null) {
+            this.user = resolveUser();
+        }
+        return this.user;
+    }
+
+    private Optional<User> resolveUser() {
+        final Optional<UUID> uuid = getUniqueId();
+        if (!uuid.isPresent()) {
+            return Optional.empty();
+        }
+        // get player if online
+        final EntityPlayer player = this.world.getPlayerEntityByUUID(uuid.get());
+        if (player != null) {
+            return Optional.of((User) player);
+        }
+        // player is not online, get user from storage if one exists
+        return SpongeImpl.getGame().getServiceManager().provide(UserStorage.class).get().get(uuid.get());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TrackedUser)) {
+            return false;
+        }
+        final TrackedUser other = (TrackedUser) obj;
+        return this.index == other.index && this.world == other.world;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.world.hashCode() + this.index;
+    }
+
+}
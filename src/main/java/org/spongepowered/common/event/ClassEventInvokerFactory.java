@@ -0,0 +1,209 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates an {@link EventInvoker} class for each baked listener chain.
+ *
+ * <p>Each listener is stored in its own field and called from its own call
+ * site, so the JIT sees a monomorphic call for every listener. Whether the
+ * event can be cancelled is known when the class is generated, so the
+ * {@code ignoreCancelled} check is only emitted where it is needed.</p>
+ *
+ * <p>Every class is defined in its own class loader, allowing it to be
+ * unloaded again once the handler cache is re-baked.</p>
+ */
+public final class ClassEventInvokerFactory implements EventInvoker.Factory {
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+
+    public ClassEventInvokerFactory(String targetPackage) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+    }
+
+    @Override
+    public EventInvoker create(Class<? extends Event> eventClass, List<RegisteredListener<?>> listeners) throws Exception {
+        if (listeners.isEmpty()) {
+            return EventInvoker.EMPTY;
+        }
+
+        RegisteredListener<?>[] array = listeners.toArray(new RegisteredListener<?>[listeners.size()]);
+        String name = this.targetPackage + eventClass.getSimpleName() + "Invoker_" + this.id.incrementAndGet();
+        byte[] bytes = generateClass(name, Cancellable.class.isAssignableFrom(eventClass), array);
+
+        Class<? extends EventInvoker> invokerClass =
+                new ClassEventListenerFactory.LocalClassLoader(getClass().getClassLoader()).defineClass(name, bytes);
+        return invokerClass.getConstructor(RegisteredListener[].class).newInstance(new Object[] {array});
+    }
+
+    private static final String BASE_INVOKER = Type.getInternalName(EventInvoker.class);
+    private static final String REGISTERED_LISTENER = Type.getInternalName(RegisteredListener.class);
+    private static final String EVENT_LISTENER = Type.getInternalName(EventListener.class);
+    private static final String EVENT_LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String CANCELLABLE = Type.getInternalName(Cancellable.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + Type.getDescriptor(RegisteredListener.class) + ")V";
+    private static final String INVOKE_METHOD_DESCRIPTOR = '(' + EVENT_DESCRIPTOR + ")Z";
+    private static final String HANDLE_METHOD_DESCRIPTOR = '(' + EVENT_DESCRIPTOR + ")V";
+    private static final String HANDLE_EXCEPTION_METHOD_DESCRIPTOR = '(' + EVENT_DESCRIPTOR + "I" + Type.getDescriptor(Throwable.class) + ")V";
+
+    private static byte[] generateClass(String name, boolean cancellable, RegisteredListener<?>[] listeners) {
+        name = name.replace('.', '/');
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_INVOKER, null);
+
+        for (int i = 0; i < listeners.length; i++) {
+            FieldVisitor fv = cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, EVENT_LISTENER_DESCRIPTOR, null, null);
+            fv.visitEnd();
+        }
+
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_INVOKER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < listeners.length; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitIntConstant(mv, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER, "getListener", "()" + EVENT_LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, EVENT_LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_METHOD_DESCRIPTOR, null, null);
+            mv.visitCode();
+            for (int i = 0; i < listeners.length; i++) {
+                Label skip = new Label();
+                if (cancellable && listeners[i].isIgnoreCancelled()) {
+                    visitIsCancelled(mv);
+                    mv.visitJumpInsn(IFNE, skip);
+                }
+
+                Label start = new Label();
+                Label end = new Label();
+                Label handler = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, EVENT_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, EVENT_LISTENER, "handle", HANDLE_METHOD_DESCRIPTOR, true);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, skip);
+
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitIntConstant(mv, i);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, name, "handleException", HANDLE_EXCEPTION_METHOD_DESCRIPTOR, false);
+
+                mv.visitLabel(skip);
+            }
+
+            if (cancellable) {
+                visitIsCancelled(mv);
+            } else {
+                mv.visitInsn(ICONST_0);
+            }
+            mv.visitInsn(IRETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    private static void visitIsCancelled(MethodVisitor mv) {
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, CANCELLABLE);
+        mv.visitMethodInsn(INVOKEINTERFACE, CANCELLABLE, "isCancelled", "()Z", true);
+    }
+
+    private static void visitIntConstant(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+}
@@ -129,14 +129,14 @@ private static byte[] generateClass(String name, Class<?> handle, Method method,
         return cw.toByteArray();
     }
 
-    private static class LocalClassLoader extends ClassLoader {
+    static class LocalClassLoader extends ClassLoader {
 
-        private LocalClassLoader(ClassLoader parent) {
+        LocalClassLoader(ClassLoader parent) {
             super(parent);
         }
 
         @SuppressWarnings("unchecked")
-        private <T> Class<T> defineClass(String name, byte[] b) {
+        <T> Class<T> defineClass(String name, byte[] b) {
             return (Class<T>) defineClass(name, b, 0, b.length);
         }
 
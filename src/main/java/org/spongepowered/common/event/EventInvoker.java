@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.List;
+
+/**
+ * Posts an event to a fixed, ordered chain of listeners.
+ *
+ * <p>Implementations are generated by the {@link ClassEventInvokerFactory}
+ * for a single event type, with the listener chain unrolled into one
+ * method body.</p>
+ */
+public abstract class EventInvoker {
+
+    /**
+     * An invoker which has no listeners to call.
+     */
+    public static final EventInvoker EMPTY = new EventInvoker(new RegisteredListener<?>[0]) {
+
+        @Override
+        public boolean invoke(Event event) {
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
+    };
+
+    protected final RegisteredListener<?>[] listeners;
+
+    protected EventInvoker(RegisteredListener<?>[] listeners) {
+        this.listeners = checkNotNull(listeners, "listeners");
+    }
+
+    /**
+     * Calls every listener of this invoker with the specified event.
+     *
+     * @param event The event to post
+     * @return True if the event is cancelled after all listeners were called
+     */
+    public abstract boolean invoke(Event event);
+
+    protected final void handleException(Event event, int index, Throwable throwable) {
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), this.listeners[index].getPlugin(), throwable);
+    }
+
+    interface Factory {
+
+        EventInvoker create(Class<? extends Event> eventClass, List<RegisteredListener<?>> listeners) throws Exception;
+
+    }
+
+}
@@ -37,6 +37,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -70,10 +72,18 @@ public Order getOrder() {
         return this.order;
     }
 
+    public boolean isIgnoreCancelled() {
+        return this.ignoreCancelled;
+    }
+
     public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -102,18 +112,38 @@ public static final class Cache {
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
+        @Nullable private final EventInvoker invoker;
+        @Nullable private final EnumMap<Order, EventInvoker> invokersByOrder;
+
         private static final Order[] ORDERS = Order.values();
 
         Cache(List<RegisteredListener<?>> listeners) {
             this.listeners = listeners;
+            this.listenersByOrder = sortByOrder(listeners);
+            this.invoker = null;
+            this.invokersByOrder = null;
+        }
+
+        Cache(Class<? extends Event> eventClass, List<RegisteredListener<?>> listeners, EventInvoker.Factory invokerFactory) throws Exception {
+            this.listeners = listeners;
+            this.listenersByOrder = sortByOrder(listeners);
+
+            this.invoker = invokerFactory.create(eventClass, listeners);
+            this.invokersByOrder = Maps.newEnumMap(Order.class);
+            for (Order order : ORDERS) {
+                this.invokersByOrder.put(order, invokerFactory.create(eventClass, this.listenersByOrder.get(order)));
+            }
+        }
 
-            this.listenersByOrder = Maps.newEnumMap(Order.class);
+        private static EnumMap<Order, List<RegisteredListener<?>>> sortByOrder(List<RegisteredListener<?>> listeners) {
+            EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
-                this.listenersByOrder.put(order, Lists.<RegisteredListener<?>>newArrayList());
+                listenersByOrder.put(order, Lists.<RegisteredListener<?>>newArrayList());
             }
             for (RegisteredListener<?> handler : listeners) {
-                this.listenersByOrder.get(handler.getOrder()).add(handler);
+                listenersByOrder.get(handler.getOrder()).add(handler);
             }
+            return listenersByOrder;
         }
 
         public List<RegisteredListener<?>> getListeners() {
@@ -124,6 +154,22 @@ public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
 
+        /**
+         * Gets the compiled invoker for all listeners, if compiled event
+         * dispatch is enabled.
+         *
+         * @return The invoker, or null if the listeners should be iterated
+         */
+        @Nullable
+        public EventInvoker getInvoker() {
+            return this.invoker;
+        }
+
+        @Nullable
+        public EventInvoker getInvokerByOrder(Order order) {
+            return this.invokersByOrder == null ? null : this.invokersByOrder.get(checkNotNull(order, "order"));
+        }
+
     }
 
 }
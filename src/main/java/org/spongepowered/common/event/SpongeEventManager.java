@@ -27,12 +27,12 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.Event;
@@ -49,6 +49,7 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -63,39 +64,95 @@ public class SpongeEventManager implements EventManager {
 
     private final PluginManager pluginManager;
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener");
+    private final EventInvoker.Factory invokerFactory = new ClassEventInvokerFactory("org.spongepowered.common.event.invoker");
     private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
 
+    /**
+     * The event supertypes of every event type that has been baked so far.
+     */
+    private final Map<Class<? extends Event>, Set<Class<?>>> eventTypes = Maps.newHashMap();
+
+    /**
+     * An index from each event supertype to the baked event types it is
+     * part of, used to re-bake only the affected caches if handlers are
+     * added or removed.
+     */
+    private final Multimap<Class<?>, Class<? extends Event>> bakedSubtypes = HashMultimap.create();
+
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or removed.</p>
+     * <p>The map is never modified once published. It is copied and replaced
+     * under the lock whenever an event type is baked or re-baked, so posting
+     * events never has to wait for a registration.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends Event>, RegisteredListener.Cache>() {
-                @Override
-                public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws Exception {
-                    return bakeHandlers(eventClass);
-                }
-            });
+    private volatile Map<Class<? extends Event>, RegisteredListener.Cache> handlersCache = Collections.emptyMap();
 
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
     }
 
-    private RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
-        List<RegisteredListener<?>> handlers = Lists.newArrayList();
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
+    private RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache == null) {
+            synchronized (this.lock) {
+                cache = this.handlersCache.get(eventClass);
+                if (cache == null) {
+                    cache = bakeHandlers(eventClass);
+
+                    Map<Class<? extends Event>, RegisteredListener.Cache> handlersCache = Maps.newHashMap(this.handlersCache);
+                    handlersCache.put(eventClass, cache);
+                    this.handlersCache = handlersCache;
+                }
+            }
+        }
+        return cache;
+    }
 
-        synchronized (this.lock) {
-            for (Class<?> type : types) {
+    private Set<Class<?>> getEventTypes(Class<? extends Event> eventClass) {
+        Set<Class<?>> types = this.eventTypes.get(eventClass);
+        if (types == null) {
+            ImmutableSet.Builder<Class<?>> builder = ImmutableSet.builder();
+            for (Class<?> type : TypeToken.of(eventClass).getTypes().rawTypes()) {
                 if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
+                    builder.add(type);
+                    this.bakedSubtypes.put(type, eventClass);
                 }
             }
+
+            types = builder.build();
+            this.eventTypes.put(eventClass, types);
+        }
+        return types;
+    }
+
+    private void rebakeHandlers(Set<Class<? extends Event>> eventClasses) {
+        if (eventClasses.isEmpty()) {
+            return;
+        }
+
+        Map<Class<? extends Event>, RegisteredListener.Cache> handlersCache = Maps.newHashMap(this.handlersCache);
+        for (Class<? extends Event> eventClass : eventClasses) {
+            handlersCache.put(eventClass, bakeHandlers(eventClass));
+        }
+        this.handlersCache = handlersCache;
+    }
+
+    private RegisteredListener.Cache bakeHandlers(Class<? extends Event> rootEvent) {
+        List<RegisteredListener<?>> handlers = Lists.newArrayList();
+        for (Class<?> type : getEventTypes(rootEvent)) {
+            handlers.addAll(this.handlersByEvent.get(type));
         }
 
         Collections.sort(handlers);
+
+        if (SpongeImpl.getGlobalConfig().getConfig().getEvents().useCompiledDispatch()) {
+            try {
+                return new RegisteredListener.Cache(rootEvent, handlers, this.invokerFactory);
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Failed to generate event invoker for {}, falling back to listener iteration", rootEvent, e);
+            }
+        }
         return new RegisteredListener.Cache(handlers);
     }
 
@@ -117,17 +174,15 @@ private void register(RegisteredListener<?> handler) {
 
     private void register(List<RegisteredListener<?>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<? extends Event>> affected = Sets.newHashSet();
 
             for (RegisteredListener<?> handler : handlers) {
                 if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                    affected.addAll(this.bakedSubtypes.get(handler.getEventClass()));
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
-            }
+            rebakeHandlers(affected);
         }
     }
 
@@ -202,20 +257,18 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<? extends Event>> affected = Sets.newHashSet();
 
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    affected.addAll(this.bakedSubtypes.get(handler.getEventClass()));
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
-            }
+            rebakeHandlers(affected);
         }
     }
 
@@ -232,7 +285,7 @@ public void unregisterPluginListeners(Object pluginObj) {
     }
 
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
     }
 
     @SuppressWarnings("unchecked")
@@ -248,13 +301,35 @@ protected static boolean post(Event event, List<RegisteredListener<?>> handlers)
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    /**
+     * Checks whether any listener would receive an event of the specified
+     * type. Callers may use this to avoid constructing events nobody
+     * listens to.
+     *
+     * @param eventClass The event type
+     * @return True if at least one listener is registered for the type
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        return !getHandlerCache(checkNotNull(eventClass, "eventClass")).getListeners().isEmpty();
+    }
+
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        EventInvoker invoker = cache.getInvoker();
+        if (invoker != null) {
+            return invoker.invoke(event);
+        }
+        return post(event, cache.getListeners());
     }
 
     public boolean post(Event event, Order order) {
-        return post(event, getHandlerCache(event).getListenersByOrder(order));
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        EventInvoker invoker = cache.getInvokerByOrder(order);
+        if (invoker != null) {
+            return invoker.invoke(event);
+        }
+        return post(event, cache.getListenersByOrder(order));
     }
 
 }
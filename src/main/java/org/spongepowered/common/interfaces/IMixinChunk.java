@@ -31,8 +31,9 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+import org.spongepowered.common.entity.TrackedUser;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,9 +41,7 @@ public interface IMixinChunk {
 
     Cause getCurrentPopulateCause();
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
-
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    PlayerTrackerMap getTrackedPlayerPositions();
 
     Optional<UUID> getTrackedPlayerUniqueId(BlockPos pos);
 
@@ -50,12 +49,16 @@ public interface IMixinChunk {
 
     Optional<User> getBlockNotifier(BlockPos pos);
 
+    Optional<TrackedUser> getTrackedBlockOwner(BlockPos pos);
+
+    Optional<TrackedUser> getTrackedBlockNotifier(BlockPos pos);
+
     IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState currentState, BlockSnapshot newBlockSnapshot);
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
+    void addTrackedBlockPosition(Block block, BlockPos pos, TrackedUser user, PlayerTracker.Type trackerType);
 
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void setTrackedPlayerPositions(PlayerTrackerMap trackedPlayerPositions);
 
 }
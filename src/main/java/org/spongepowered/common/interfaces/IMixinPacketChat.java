@@ -0,0 +1,47 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces;
+
+import org.spongepowered.common.network.SharedPacketData;
+
+public interface IMixinPacketChat {
+
+    /**
+     * Sets the already encoded chat component of this packet, shared by all
+     * connections the packet is sent to.
+     *
+     * <p>The component must be shared between exactly as many writes as the
+     * packet is passed to sendPacket: every sendPacket writes the packet at
+     * most once, which releases one reference. Connections that never write
+     * the packet, like a closed connection or the local connection of an
+     * integrated server, never release theirs, so the component has to be an
+     * unpooled heap buffer that is simply collected with the packet. Writes
+     * past the shared count encode the component like vanilla.</p>
+     *
+     * @param component The encoded component
+     */
+    void setEncodedComponent(SharedPacketData component);
+
+}
@@ -35,6 +35,7 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.world.gen.GeneratorPopulator;
 import org.spongepowered.api.world.gen.Populator;
+import org.spongepowered.common.configuration.EffectiveWorldConfig;
 import org.spongepowered.common.configuration.SpongeConfig;
 
 import java.util.List;
@@ -44,12 +45,45 @@ public interface IMixinWorld {
 
     SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig();
 
+    /**
+     * Gets a snapshot of the settings of the active config of this world.
+     * The snapshot is rebuilt when it is requested after any config was
+     * reloaded.
+     *
+     * @return The effective config
+     */
+    EffectiveWorldConfig getEffectiveConfig();
+
     ImmutableList<Populator> getPopulators();
 
     ImmutableList<GeneratorPopulator> getGeneratorPopulators();
 
     List<BlockSnapshot> getBlockBreakList();
 
+    /**
+     * Gets the number of block changes and entity spawns that were applied
+     * directly because no listener observes their events.
+     *
+     * @return The number of skipped captures
+     */
+    long getSkippedCaptureCount();
+
+    /**
+     * Gets the number of entities that ran their full update during the
+     * last entity tick.
+     *
+     * @return The number of active entities
+     */
+    int getActiveEntityCount();
+
+    /**
+     * Gets the number of entities that were outside of the activation range
+     * of every player during the last entity tick.
+     *
+     * @return The number of inactive entities
+     */
+    int getInactiveEntityCount();
+
     List<Entity> getCapturedEntities();
 
     List<Entity> getCapturedEntityItems();
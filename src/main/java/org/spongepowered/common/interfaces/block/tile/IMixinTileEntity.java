@@ -29,6 +29,7 @@
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.common.block.TileEntityPayload;
 import org.spongepowered.common.data.util.NbtDataUtil;
 
 public interface IMixinTileEntity {
@@ -65,4 +66,29 @@ public interface IMixinTileEntity {
      * @param dataView The data view to set all data api related data
      */
     void sendDataToContainer(DataView dataView);
+
+    /**
+     * Gets the data of this tile entity for a block snapshot. Tile entities
+     * that {@link #supportsDeferredSnapshots() support it} share one deferred
+     * payload between all snapshots taken until they are changed again,
+     * others are serialized right away.
+     *
+     * @return The snapshot payload
+     */
+    TileEntityPayload getSnapshotPayload();
+
+    /**
+     * Called before this tile entity is changed, serializes the payload
+     * handed out by {@link #getSnapshotPayload()} if it is still deferred.
+     */
+    void detachSnapshotPayload();
+
+    /**
+     * Gets whether every change of this tile entity is preceded by a call to
+     * {@link #detachSnapshotPayload()}, which is required to defer the
+     * serialization of its snapshots.
+     *
+     * @return True if snapshot payloads may be deferred
+     */
+    boolean supportsDeferredSnapshots();
 }
@@ -59,7 +59,7 @@ public abstract class MixinText implements IMixinText {
     @Shadow protected Optional<ShiftClickAction<?>> shiftClickAction;
 
     private Map<Locale, IChatComponent> localizedComponents;
-    private String json;
+    private Map<Locale, String> localizedJson;
 
     protected ChatComponentStyle createComponent(Locale locale) {
         throw new UnsupportedOperationException();
@@ -123,11 +123,15 @@ public String toPlain(Locale locale) {
 
     @Override
     public String toJson(Locale locale) {
-        if (this.json == null) {
-            this.json = IChatComponent.Serializer.componentToJson(getHandle(locale));
+        if (this.localizedJson == null) {
+            this.localizedJson = Collections.synchronizedMap(new HashMap<>());
         }
-
-        return this.json;
+        String json = this.localizedJson.get(locale);
+        if (json == null) {
+            json = IChatComponent.Serializer.componentToJson(getHandle(locale));
+            this.localizedJson.put(locale, json);
+        }
+        return json;
     }
 
     @Override
@@ -32,7 +32,6 @@
 import net.minecraft.block.Block;
 import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.state.BlockStateBase;
-import net.minecraft.nbt.NBTTagCompound;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
@@ -57,6 +56,7 @@
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
 import org.spongepowered.common.interfaces.block.IMixinBlockState;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.util.VecHelper;
 
 import java.util.Collection;
@@ -112,9 +112,7 @@ public BlockSnapshot snapshotFor(Location<World> location) {
             for (DataManipulator<?, ?> manipulator : tileEntity.getContainers()) {
                 builder.add(manipulator);
             }
-            final NBTTagCompound compound = new NBTTagCompound();
-            ((net.minecraft.tileentity.TileEntity) tileEntity).writeToNBT(compound);
-            builder.unsafeNbt(compound);
+            builder.tileEntityPayload(((IMixinTileEntity) tileEntity).getSnapshotPayload());
         }
         return builder.build();
     }
@@ -48,6 +48,7 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.block.TileEntityPayload;
 import org.spongepowered.common.data.type.SpongeTileEntityType;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.DataUtil;
@@ -60,9 +61,12 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 @NonnullByDefault
 @Mixin(net.minecraft.tileentity.TileEntity.class)
 public abstract class MixinTileEntity implements TileEntity, IMixinTileEntity {
@@ -73,6 +77,8 @@ public abstract class MixinTileEntity implements TileEntity, IMixinTileEntity {
     @Shadow protected net.minecraft.world.World worldObj;
     @Shadow private int blockMetadata;
     @Shadow protected BlockPos pos;
+    // Weak so a payload no snapshot refers to anymore is never serialized
+    @Nullable private WeakReference<TileEntityPayload> snapshotPayload;
 
     @Shadow public abstract BlockPos getPos();
     @Shadow public abstract Block getBlockType();
@@ -170,6 +176,17 @@ public void onWriteToNBT(NBTTagCompound compound, CallbackInfo ci) {
         this.writeToNbt(this.getSpongeData());
     }
 
+    @Inject(method = "Lnet/minecraft/tileentity/TileEntity;readFromNBT(Lnet/minecraft/nbt/NBTTagCompound;)V", at = @At("HEAD"))
+    public void onReadFromNBTHead(NBTTagCompound compound, CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
+    @Inject(method = {"invalidate", "onChunkUnload"}, at = @At("HEAD"))
+    public void onInvalidate(CallbackInfo ci) {
+        // Mods clear their tile entities once they are removed from the world
+        this.detachSnapshotPayload();
+    }
+
     /**
      * Hooks into vanilla's readFromNBT to call {@link #readFromNbt}.
      * <p>
@@ -229,6 +246,35 @@ public void writeToNbt(NBTTagCompound compound) {
         }
     }
 
+    @Override
+    public TileEntityPayload getSnapshotPayload() {
+        if (!this.supportsDeferredSnapshots()) {
+            return TileEntityPayload.serialize((net.minecraft.tileentity.TileEntity) (Object) this);
+        }
+        TileEntityPayload payload = this.snapshotPayload == null ? null : this.snapshotPayload.get();
+        if (payload == null) {
+            payload = TileEntityPayload.deferred((net.minecraft.tileentity.TileEntity) (Object) this);
+            this.snapshotPayload = new WeakReference<>(payload);
+        }
+        return payload;
+    }
+
+    @Override
+    public void detachSnapshotPayload() {
+        if (this.snapshotPayload != null) {
+            final TileEntityPayload payload = this.snapshotPayload.get();
+            if (payload != null) {
+                payload.detach();
+            }
+            this.snapshotPayload = null;
+        }
+    }
+
+    @Override
+    public boolean supportsDeferredSnapshots() {
+        return false;
+    }
+
     public void supplyVanillaManipulators(List<DataManipulator<?, ?>> manipulators) {
 
     }
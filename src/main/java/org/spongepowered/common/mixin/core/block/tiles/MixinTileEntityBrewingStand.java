@@ -30,6 +30,9 @@
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.data.util.DataQueries;
 
 @NonnullByDefault
@@ -38,6 +41,16 @@ public abstract class MixinTileEntityBrewingStand extends MixinTileEntityLockabl
 
     @Shadow private String customName;
 
+    @Inject(method = "update", at = @At("HEAD"))
+    public void onUpdate(CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
+    @Inject(method = "setName", at = @At("HEAD"))
+    public void onSetCustomName(String name, CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
     @Override
     public void sendDataToContainer(DataView dataView) {
         dataView.set(DataQueries.BLOCK_ENTITY_BREWING_TIME, this.getField(0));
@@ -32,6 +32,9 @@
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @NonnullByDefault
 @Mixin(TileEntityChest.class)
@@ -39,6 +42,11 @@ public abstract class MixinTileEntityChest extends MixinTileEntityLockable imple
 
     @Shadow public String customName;
 
+    @Inject(method = "setCustomName", at = @At("HEAD"))
+    public void onSetCustomName(String name, CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
     @Override
     public DataContainer toContainer() {
         DataContainer container = super.toContainer();
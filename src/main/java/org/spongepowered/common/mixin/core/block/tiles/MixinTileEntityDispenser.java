@@ -32,6 +32,9 @@
 import org.spongepowered.api.entity.projectile.Projectile;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.entity.projectile.ProjectileLauncher;
 
 import java.util.Optional;
@@ -40,6 +43,11 @@
 @Mixin(TileEntityDispenser.class)
 public abstract class MixinTileEntityDispenser extends MixinTileEntityLockable implements Dispenser {
 
+    @Inject(method = "setCustomName", at = @At("HEAD"))
+    public void onSetCustomName(String name, CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
     @Override
     public <T extends Projectile> Optional<T> launchProjectile(Class<T> projectileClass) {
         return ProjectileLauncher.launch(checkNotNull(projectileClass, "projectileClass"), this, null);
@@ -32,6 +32,9 @@
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @NonnullByDefault
 @Mixin(TileEntityFurnace.class)
@@ -39,6 +42,16 @@ public abstract class MixinTileEntityFurnace extends MixinTileEntityLockable imp
 
     @Shadow private String furnaceCustomName;
 
+    @Inject(method = "update", at = @At("HEAD"))
+    public void onUpdate(CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
+    @Inject(method = "setCustomInventoryName", at = @At("HEAD"))
+    public void onSetCustomName(String name, CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
     @Override
     public DataContainer toContainer() {
         DataContainer container = super.toContainer();
@@ -40,6 +40,9 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
@@ -54,6 +57,16 @@ public abstract class MixinTileEntityHopper extends MixinTileEntityLockable impl
     @Shadow private int transferCooldown;
     @Shadow private String customName;
 
+    @Inject(method = {"update", "setTransferCooldown"}, at = @At("HEAD"))
+    public void onHopperUpdate(CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
+    @Inject(method = "setCustomName", at = @At("HEAD"))
+    public void onSetCustomName(String name, CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
     /**
      * @author bloodmc - November 15th, 2015
      *
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.block.tiles;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntityBrewingStand;
+import net.minecraft.tileentity.TileEntityChest;
+import net.minecraft.tileentity.TileEntityDispenser;
+import net.minecraft.tileentity.TileEntityFurnace;
+import net.minecraft.tileentity.TileEntityHopper;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Detaches the snapshot payload of the vanilla container tile entities
+ * before their inventory is accessed. Item stacks handed out by
+ * getStackInSlot are frequently changed in place, so any access counts as
+ * a change. Ticking containers detach in their own update.
+ */
+@NonnullByDefault
+@Mixin({TileEntityChest.class, TileEntityFurnace.class, TileEntityHopper.class, TileEntityDispenser.class, TileEntityBrewingStand.class})
+public abstract class MixinTileEntityInventory extends MixinTileEntity {
+
+    @Inject(method = {"getStackInSlot", "decrStackSize", "getStackInSlotOnClosing"}, at = @At("HEAD"))
+    public void onGetStackInSlot(CallbackInfoReturnable<ItemStack> cir) {
+        this.detachSnapshotPayload();
+    }
+
+    @Inject(method = {"setInventorySlotContents", "setField", "clear"}, at = @At("HEAD"))
+    public void onSetInventoryContents(CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
+    @Override
+    public boolean supportsDeferredSnapshots() {
+        return true;
+    }
+
+}
@@ -36,6 +36,9 @@
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.data.util.DataQueries;
 
 import java.util.List;
@@ -46,6 +49,11 @@ public abstract class MixinTileEntityLockable extends MixinTileEntity implements
 
     @Shadow private LockCode code;
 
+    @Inject(method = "setLockCode", at = @At("HEAD"))
+    public void onSetLockCode(LockCode code, CallbackInfo ci) {
+        this.detachSnapshotPayload();
+    }
+
     @Override
     public DataContainer toContainer() {
         DataContainer container = super.toContainer();
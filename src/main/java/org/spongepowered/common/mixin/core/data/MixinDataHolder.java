@@ -28,6 +28,7 @@
 
 import co.aikar.timings.SpongeTimings;
 import co.aikar.timings.Timing;
+import co.aikar.timings.Timings;
 import net.minecraft.entity.Entity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
@@ -44,17 +45,20 @@
 import org.spongepowered.common.data.SpongeDataRegistry;
 import org.spongepowered.common.data.ValueProcessor;
 import org.spongepowered.common.entity.player.SpongeUser;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
 
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @Mixin(value = {TileEntity.class, Entity.class, ItemStack.class, SpongeUser.class}, priority = 999)
 public abstract class MixinDataHolder implements DataHolder {
 
     @SuppressWarnings("unchecked")
     @Override
     public <T extends DataManipulator<?, ?>> Optional<T> get(Class<T> containerClass) {
-        try (Timing timing = SpongeTimings.dataGetManipulator.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataGetManipulator)) {
             final Optional<DataProcessor<?, ?>> optional = SpongeDataRegistry.getInstance().getWildProcessor(containerClass);
             if (optional.isPresent()) {
                 return (Optional<T>) optional.get().from(this);
@@ -66,7 +70,7 @@ public abstract class MixinDataHolder implements DataHolder {
     @SuppressWarnings("unchecked")
     @Override
     public <T extends DataManipulator<?, ?>> Optional<T> getOrCreate(Class<T> containerClass) {
-        try (Timing timing = SpongeTimings.dataGetOrCreateManipulator.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataGetOrCreateManipulator)) {
             final Optional<DataProcessor<?, ?>> optional = SpongeDataRegistry.getInstance().getWildProcessor(containerClass);
             if (optional.isPresent()) {
                 return (Optional<T>) optional.get().createFrom(this);
@@ -79,7 +83,7 @@ public abstract class MixinDataHolder implements DataHolder {
 
     @Override
     public boolean supports(Class<? extends DataManipulator<?, ?>> holderClass) {
-        try (Timing timing = SpongeTimings.dataSupportsManipulator.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataSupportsManipulator)) {
             final Optional<DataProcessor<?, ?>> optional = SpongeDataRegistry.getInstance().getWildProcessor(holderClass);
             return optional.isPresent() && optional.get().supports(this);
         }
@@ -87,7 +91,8 @@ public boolean supports(Class<? extends DataManipulator<?, ?>> holderClass) {
 
     @Override
     public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E value) {
-        try (Timing timing = SpongeTimings.dataOfferKey.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataOfferKey)) {
+            onDataChange();
             final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional = SpongeDataRegistry.getInstance().getBaseValueProcessor(key);
             if (optional.isPresent()) {
                 return optional.get().offerToStore(this, value);
@@ -101,7 +106,8 @@ public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E value)
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public DataTransactionResult offer(DataManipulator<?, ?> valueContainer, MergeFunction function) {
-        try (Timing timing = SpongeTimings.dataOfferManipulator.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataOfferManipulator)) {
+            onDataChange();
             final Optional<DataProcessor> optional = SpongeDataRegistry.getInstance().getWildDataProcessor(valueContainer.getClass());
             if (optional.isPresent()) {
                 return optional.get().set(this, valueContainer, checkNotNull(function));
@@ -114,7 +120,7 @@ public DataTransactionResult offer(DataManipulator<?, ?> valueContainer, MergeFu
 
     @Override
     public DataTransactionResult offer(Iterable<DataManipulator<?, ?>> valueContainers) {
-        try (Timing timing = SpongeTimings.dataOfferMultiManipulators.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataOfferMultiManipulators)) {
             DataTransactionBuilder builder = DataTransactionBuilder.builder();
             for (DataManipulator<?, ?> manipulator : valueContainers) {
                 final DataTransactionResult result = offer(manipulator);
@@ -144,7 +150,8 @@ public DataTransactionResult offer(Iterable<DataManipulator<?, ?>> valueContaine
 
     @Override
     public DataTransactionResult remove(Class<? extends DataManipulator<?, ?>> containerClass) {
-        try (Timing timing = SpongeTimings.dataRemoveManipulator.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataRemoveManipulator)) {
+            onDataChange();
             final Optional<DataProcessor<?, ?>> optional = SpongeDataRegistry.getInstance().getWildProcessor(containerClass);
             if (optional.isPresent()) {
                 return optional.get().remove(this);
@@ -157,7 +164,8 @@ public DataTransactionResult remove(Class<? extends DataManipulator<?, ?>> conta
 
     @Override
     public DataTransactionResult remove(Key<?> key) {
-        try (Timing timing = SpongeTimings.dataRemoveKey.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataRemoveKey)) {
+            onDataChange();
             final Optional<ValueProcessor<?, ?>> optional = SpongeDataRegistry.getInstance().getWildValueProcessor(checkNotNull(key));
             if (optional.isPresent()) {
                 return optional.get().removeFrom(this);
@@ -170,7 +178,7 @@ public DataTransactionResult remove(Key<?> key) {
 
     @Override
     public DataTransactionResult undo(DataTransactionResult result) {
-        try (Timing timing = SpongeTimings.dataOfferManipulator.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataOfferManipulator)) {
             if (result.getReplacedData().isEmpty() && result.getSuccessfulData().isEmpty()) {
                 return DataTransactionBuilder.successNoData();
             }
@@ -192,7 +200,7 @@ public DataTransactionResult copyFrom(DataHolder that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        try (Timing timing = SpongeTimings.dataGetByKey.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataGetByKey)) {
             final Optional<ValueProcessor<E, ? extends BaseValue<E>>>
                 optional =
                 SpongeDataRegistry.getInstance().getBaseValueProcessor(checkNotNull(key));
@@ -205,7 +213,7 @@ public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        try (Timing timing = SpongeTimings.dataGetValue.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataGetValue)) {
             final Optional<ValueProcessor<E, V>> optional = SpongeDataRegistry.getInstance().getValueProcessor(checkNotNull(key));
             if (optional.isPresent()) {
                 return optional.get().getApiValueFromContainer(this);
@@ -216,10 +224,23 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
 
     @Override
     public boolean supports(Key<?> key) {
-        try (Timing timing = SpongeTimings.dataSupportsKey.startTiming()) {
+        try (Timing timing = startDataTiming(SpongeTimings.dataSupportsKey)) {
             final Optional<ValueProcessor<?, ?>> optional = SpongeDataRegistry.getInstance().getWildValueProcessor(checkNotNull(key));
             return optional.isPresent() && optional.get().supports(this);
         }
     }
 
+    // Timing every data call is only worth its overhead with verbose timings
+    @Nullable
+    private static Timing startDataTiming(Timing timing) {
+        return Timings.isVerboseTimingsEnabled() ? timing.startTiming() : null;
+    }
+
+    private void onDataChange() {
+        // Block snapshots may still defer reading the old tile entity data
+        if (this instanceof IMixinTileEntity) {
+            ((IMixinTileEntity) this).detachSnapshotPayload();
+        }
+    }
+
 }
@@ -70,6 +70,7 @@
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.EntityActivationRange;
 import org.spongepowered.common.entity.SpongeEntitySnapshotBuilder;
 import org.spongepowered.common.event.DamageEventHandler;
 import org.spongepowered.common.event.MinecraftBlockDamageSource;
@@ -105,6 +106,9 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
     private float origWidth;
     private float origHeight;
     @Nullable private Double modifiedEyeHeight = null;
+    private byte activationType;
+    private long activatedTick = Integer.MIN_VALUE;
+    private boolean defaultActivationState = true;
 
     @Shadow private UUID entityUniqueID;
     @Shadow public net.minecraft.world.World worldObj;
@@ -157,6 +161,12 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
 
     // @formatter:on
 
+    @Inject(method = "<init>", at = @At("RETURN"))
+    public void onEntityConstruction(net.minecraft.world.World worldIn, CallbackInfo ci) {
+        this.activationType = EntityActivationRange.initializeEntityActivationType((net.minecraft.entity.Entity) (Object) this);
+        this.defaultActivationState = EntityActivationRange.initializeEntityActivationState((net.minecraft.entity.Entity) (Object) this);
+    }
+
     @Inject(method = "setSize", at = @At("RETURN"))
     public void onSetSize(float width, float height, CallbackInfo ci) {
         if (this.origWidth == 0 || this.origHeight == 0) {
@@ -228,6 +238,30 @@ public void postDealFireDamage(CallbackInfo callbackInfo) {
         }
     }
 
+    @Override
+    public byte getActivationType() {
+        return this.activationType;
+    }
+
+    @Override
+    public long getActivatedTick() {
+        return this.activatedTick;
+    }
+
+    @Override
+    public void setActivatedTick(long tick) {
+        this.activatedTick = tick;
+    }
+
+    @Override
+    public boolean getDefaultActivationState() {
+        return this.defaultActivationState;
+    }
+
+    @Override
+    public void inactiveTick() {
+    }
+
     @Override
     public void setEyeHeight(Double value) {
         this.modifiedEyeHeight = value;
@@ -124,6 +124,19 @@ public void setInfiniteDespawnTime() {
         this.infiniteDespawnDelay = true;
     }
 
+    @Override
+    public void inactiveTick() {
+        if (this.delayBeforeCanPickup > 0 && this.delayBeforeCanPickup != MAGIC_INFINITE_PICKUP_DELAY) {
+            this.delayBeforeCanPickup--;
+        }
+        if (this.age != MAGIC_INFINITE_DESPAWN_TIME) {
+            this.age++;
+        }
+        if (this.age >= 6000) {
+            this.setDead();
+        }
+    }
+
     @Override
     public void readFromNbt(NBTTagCompound compound) {
         super.readFromNbt(compound);
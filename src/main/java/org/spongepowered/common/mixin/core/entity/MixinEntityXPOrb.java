@@ -38,6 +38,8 @@
 public abstract class MixinEntityXPOrb extends MixinEntity implements ExperienceOrb, IMixinEntityXPOrb {
 
     @Shadow public int xpValue;
+    @Shadow public int xpOrbAge;
+    @Shadow public int delayBeforeCanPickup;
 
     @Override
     public int getExperience() {
@@ -49,6 +51,16 @@ public void setExperience(int experience) {
         this.xpValue = experience;
     }
 
+    @Override
+    public void inactiveTick() {
+        if (this.delayBeforeCanPickup > 0) {
+            this.delayBeforeCanPickup--;
+        }
+        if (++this.xpOrbAge >= 6000) {
+            this.setDead();
+        }
+    }
+
     @Override
     public void supplyVanillaManipulators(List<DataManipulator<?, ?>> manipulators) {
         super.supplyVanillaManipulators(manipulators);
@@ -233,6 +233,12 @@ public void setLastDamage(double damage) {
         this.lastDamage = (float) damage;
     }
 
+    @Override
+    public void inactiveTick() {
+        // Keep the despawn timer running while out of range
+        this.entityAge++;
+    }
+
     public int getInvulnerabilityTicks() {
         return this.hurtResistantTime;
     }
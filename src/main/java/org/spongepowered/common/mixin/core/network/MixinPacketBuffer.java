@@ -28,8 +28,10 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.handler.codec.DecoderException;
-import net.minecraft.nbt.NBTTagCompound;
+import io.netty.handler.codec.EncoderException;
 import net.minecraft.network.PacketBuffer;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.network.ChannelBuf;
@@ -38,7 +40,7 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.network.ByteBufUtils;
-import org.spongepowered.common.service.persistence.NbtTranslator;
+import org.spongepowered.common.service.persistence.NbtStreamCodec;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
@@ -50,9 +52,6 @@ public abstract class MixinPacketBuffer extends ByteBuf {
 
     @Shadow private ByteBuf buf;
 
-    @Shadow protected abstract NBTTagCompound readNBTTagCompoundFromBuffer() throws IOException;
-    @Shadow protected abstract void writeNBTTagCompoundToBuffer(NBTTagCompound compound);
-
     private ChannelBuf oppositeOrder;
 
     public int cbuf$getCapacity() {
@@ -335,8 +334,18 @@ public abstract class MixinPacketBuffer extends ByteBuf {
     }
 
     public ChannelBuf cbuf$writeDataView(DataView data) {
-        NBTTagCompound compound = NbtTranslator.getInstance().translateData(checkNotNull(data, "data"));
-        this.writeNBTTagCompoundToBuffer(compound);
+        checkNotNull(data, "data");
+        int oldIndex = this.writerIndex();
+        try {
+            NbtStreamCodec.write(data, new ByteBufOutputStream(this));
+        } catch (IOException e) {
+            this.writerIndex(oldIndex);
+            throw new EncoderException(e);
+        } catch (RuntimeException e) {
+            // Don't leave a partially written view behind
+            this.writerIndex(oldIndex);
+            throw e;
+        }
         return (ChannelBuf) this;
     }
 
@@ -351,8 +360,7 @@ public abstract class MixinPacketBuffer extends ByteBuf {
 
     public DataView cbuf$readDataView() {
         try {
-            NBTTagCompound compound = this.readNBTTagCompoundFromBuffer();
-            return NbtTranslator.getInstance().translateFrom(compound);
+            return NbtStreamCodec.read(new ByteBufInputStream(this), NbtStreamCodec.PACKET_SIZE_LIMIT);
         } catch (IOException e) {
             throw new DecoderException(e);
         }
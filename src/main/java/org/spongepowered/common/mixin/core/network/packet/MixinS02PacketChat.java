@@ -0,0 +1,60 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.network.packet;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S02PacketChat;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.IMixinPacketChat;
+import org.spongepowered.common.network.SharedPacketData;
+
+import javax.annotation.Nullable;
+
+@Mixin(S02PacketChat.class)
+public abstract class MixinS02PacketChat implements IMixinPacketChat {
+
+    @Shadow private byte type;
+    @Nullable private volatile SharedPacketData encodedComponent;
+
+    @Override
+    public void setEncodedComponent(SharedPacketData component) {
+        this.encodedComponent = component;
+    }
+
+    @Inject(method = "writePacketData", at = @At("HEAD"), cancellable = true)
+    public void onWritePacketData(PacketBuffer buf, CallbackInfo ci) {
+        final SharedPacketData component = this.encodedComponent;
+        // Once all shared writes happened, encode the component like vanilla
+        if (component != null && component.writeTo(buf)) {
+            buf.writeByte(this.type);
+            ci.cancel();
+        }
+    }
+
+}
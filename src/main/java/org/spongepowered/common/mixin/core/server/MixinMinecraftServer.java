@@ -28,7 +28,6 @@
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListenableFuture;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.profiler.Profiler;
@@ -90,6 +89,7 @@
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
+import org.spongepowered.common.world.storage.WorldPropertiesCatalog;
 
 import java.io.File;
 import java.net.InetSocketAddress;
@@ -137,15 +137,11 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, IMi
 
     private ResourcePack resourcePack;
     private boolean enableSaving = true;
+    private final WorldPropertiesCatalog worldCatalog = new WorldPropertiesCatalog(name -> getHandler(name).loadWorldInfo());
 
     @Override
     public Optional<World> getWorld(String worldName) {
-        for (World world : getWorlds()) {
-            if (world.getName().equals(worldName)) {
-                return Optional.of(world);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable((World) DimensionManager.getWorldByName(checkNotNull(worldName, "worldName")));
     }
 
     @Override
@@ -286,6 +282,7 @@ public void shutdown(Text kickMessage) {
     @Inject(method = "stopServer()V", at = @At("HEAD"))
     public void onServerStopping(CallbackInfo ci) {
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
+        this.worldCatalog.clear();
     }
 
     @Overwrite
@@ -605,12 +602,7 @@ public Collection<World> getWorlds() {
 
     @Override
     public Optional<World> getWorld(UUID uniqueId) {
-        for (WorldServer worldserver : DimensionManager.getWorlds()) {
-            if (((World) worldserver).getUniqueId().equals(uniqueId)) {
-                return Optional.of((World) worldserver);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable((World) DimensionManager.getWorldByUniqueId(checkNotNull(uniqueId, "uniqueId")));
     }
 
     @Override
@@ -627,23 +619,7 @@ public Collection<WorldProperties> getUnloadedWorlds() {
         if (rootDir == null) {
             return Collections.emptyList();
         }
-        List<WorldProperties> worlds = Lists.newArrayList();
-        for (File f : rootDir.listFiles()) {
-            if (f.isDirectory()) {
-                if (this.getWorld(f.getName()).isPresent()) {
-                    continue;
-                }
-                File level = new File(f, "level.dat");
-                File levelSponge = new File(f, "level_sponge.dat");
-                if (level.isFile() && levelSponge.isFile()) {
-                    WorldInfo info = getHandler(f.getName()).loadWorldInfo();
-                    if (info != null) {
-                        worlds.add((WorldProperties) info);
-                    }
-                }
-            }
-        }
-        return worlds;
+        return this.worldCatalog.getWorlds(rootDir, name -> DimensionManager.getWorldByName(name) != null);
     }
 
     @Override
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.server;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.server.management.UserList;
+import net.minecraft.server.management.UserListEntry;
+import net.minecraft.server.management.UserListOps;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.service.permission.base.PermissionResolver;
+import org.spongepowered.common.service.user.UserIndex;
+
+@NonnullByDefault
+@Mixin(UserList.class)
+public abstract class MixinUserList {
+
+    @Inject(method = "addEntry", at = @At("RETURN"))
+    public void onAddEntry(UserListEntry entry, CallbackInfo ci) {
+        // Banned and whitelisted users can be found by name
+        if (entry.value instanceof GameProfile) {
+            UserIndex.addListed((GameProfile) entry.value);
+        }
+        onEntriesChanged();
+    }
+
+    @Inject(method = "removeEntry", at = @At("RETURN"))
+    public void onRemoveEntry(Object entry, CallbackInfo ci) {
+        onEntriesChanged();
+    }
+
+    private void onEntriesChanged() {
+        // Op levels decide the parent group of users
+        if ((Object) this instanceof UserListOps) {
+            PermissionResolver.invalidateAll();
+        }
+    }
+
+}
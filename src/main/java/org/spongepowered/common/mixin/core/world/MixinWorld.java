@@ -62,7 +62,6 @@
 import net.minecraft.init.Blocks;
 import net.minecraft.inventory.Slot;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.client.C01PacketChatMessage;
 import net.minecraft.network.play.client.C02PacketUseEntity;
@@ -183,18 +182,23 @@
 import org.spongepowered.common.SpongeImplFactory;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.block.TileEntityPayload;
+import org.spongepowered.common.configuration.EffectiveWorldConfig;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.data.property.SpongePropertyRegistry;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.effect.particle.SpongeParticleEffect;
 import org.spongepowered.common.effect.particle.SpongeParticleHelper;
+import org.spongepowered.common.entity.EntityActivationRange;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.interfaces.IMixinWorldSettings;
 import org.spongepowered.common.interfaces.IMixinWorldType;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.entity.IMixinEntityLivingBase;
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
@@ -203,6 +207,7 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockCaptureBuffer;
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
@@ -219,6 +224,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
@@ -259,16 +265,22 @@ public abstract class MixinWorld implements World, IMixinWorld {
     public Entity currentTickEntity = null;
     public TileEntity currentTickTileEntity = null;
     public SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
-    public List<BlockSnapshot> capturedSpongeBlockBreaks = new ArrayList<>();
-    public List<BlockSnapshot> capturedSpongeBlockDecays = new ArrayList<>();
-    public List<BlockSnapshot> capturedSpongeBlockPlaces = new ArrayList<>();
-    public List<BlockSnapshot> capturedSpongeBlockModifications = new ArrayList<>();
-    public List<BlockSnapshot> capturedSpongeBlockFluids = new ArrayList<>();
+    public BlockCaptureBuffer capturedSpongeBlockBreaks = new BlockCaptureBuffer(CaptureType.BREAK);
+    @Nullable private List<BlockSnapshot> blockBreakList;
+    public BlockCaptureBuffer capturedSpongeBlockDecays = new BlockCaptureBuffer(CaptureType.DECAY);
+    public BlockCaptureBuffer capturedSpongeBlockPlaces = new BlockCaptureBuffer(CaptureType.PLACE);
+    public BlockCaptureBuffer capturedSpongeBlockModifications = new BlockCaptureBuffer(CaptureType.MODIFY);
+    public BlockCaptureBuffer capturedSpongeBlockFluids = new BlockCaptureBuffer(CaptureType.FLUID);
     public Map<PopulatorType, List<Transaction<BlockSnapshot>>> capturedSpongePopulators = Maps.newHashMap();
-    public Map<CaptureType, List<BlockSnapshot>> captureBlockLists = Maps.newHashMap();
+    public Map<CaptureType, BlockCaptureBuffer> captureBlockBuffers = new EnumMap<>(CaptureType.class);
     private boolean keepSpawnLoaded;
     private boolean worldSpawnerRunning;
     private boolean chunkSpawnerRunning;
+    private long skippedCaptures;
+    private volatile EffectiveWorldConfig effectiveConfig;
+    private boolean activationRangeEnabled;
+    private int activeEntityCount;
+    private int inactiveEntityCount;
     public SpongeConfig<SpongeConfig.WorldConfig> worldConfig;
     @Nullable private volatile Context worldContext;
     private ImmutableList<Populator> populators;
@@ -341,11 +353,11 @@ public void onConstructed(ISaveHandler saveHandlerIn, WorldInfo info, WorldProvi
         // Turn on capturing
         this.captureBlocks = true;
         this.captureEntitySpawns = true;
-        this.captureBlockLists.put(CaptureType.BREAK, this.capturedSpongeBlockBreaks);
-        this.captureBlockLists.put(CaptureType.DECAY, this.capturedSpongeBlockDecays);
-        this.captureBlockLists.put(CaptureType.FLUID, this.capturedSpongeBlockFluids);
-        this.captureBlockLists.put(CaptureType.MODIFY, this.capturedSpongeBlockModifications);
-        this.captureBlockLists.put(CaptureType.PLACE, this.capturedSpongeBlockPlaces);
+        this.captureBlockBuffers.put(CaptureType.BREAK, this.capturedSpongeBlockBreaks);
+        this.captureBlockBuffers.put(CaptureType.DECAY, this.capturedSpongeBlockDecays);
+        this.captureBlockBuffers.put(CaptureType.FLUID, this.capturedSpongeBlockFluids);
+        this.captureBlockBuffers.put(CaptureType.MODIFY, this.capturedSpongeBlockModifications);
+        this.captureBlockBuffers.put(CaptureType.PLACE, this.capturedSpongeBlockPlaces);
     }
 
     /**
@@ -371,51 +383,76 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             BlockSnapshot originalBlockSnapshot = null;
             BlockSnapshot newBlockSnapshot = null;
             Transaction<BlockSnapshot> transaction = null;
+            BlockCaptureBuffer captureBuffer = null;
+            int captureIndex = -1;
+            boolean captureSkipped = false;
 
             // Don't capture if we are restoring blocks
             if (!this.isRemote && !this.restoringBlocks) {
-                originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState, (IBlockAccess) this, pos), pos, flags);
-
                 if (StaticMixinHelper.runningGenerator != null && net.minecraft.world.gen.feature.WorldGenerator.class.isAssignableFrom(StaticMixinHelper.runningGenerator)) {
-                    SpongePopulatorType populatorType = null;
-                    populatorType = StaticMixinHelper.populator;
-
-                    if (populatorType == null) {
-                        populatorType = (SpongePopulatorType) SpongeImpl.getRegistry().getTranslated(StaticMixinHelper.runningGenerator, PopulatorType.class);
-                    }
+                    if (isCaptureObserved(CaptureType.POPULATE)) {
+                        SpongePopulatorType populatorType = null;
+                        populatorType = StaticMixinHelper.populator;
 
-                    if (populatorType != null) {
-                        if (this.capturedSpongePopulators.get(populatorType) == null) {
-                            this.capturedSpongePopulators.put(populatorType, new ArrayList<>());
+                        if (populatorType == null) {
+                            populatorType = (SpongePopulatorType) SpongeImpl.getRegistry().getTranslated(StaticMixinHelper.runningGenerator, PopulatorType.class);
                         }
 
-                        transaction = new Transaction<>(originalBlockSnapshot, originalBlockSnapshot.withState((BlockState) newState));
-                        this.capturedSpongePopulators.get(populatorType).add(transaction);
+                        originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState, (IBlockAccess) this, pos), pos, flags);
+                        if (populatorType != null) {
+                            if (this.capturedSpongePopulators.get(populatorType) == null) {
+                                this.capturedSpongePopulators.put(populatorType, new ArrayList<>());
+                            }
+
+                            transaction = new Transaction<>(originalBlockSnapshot, originalBlockSnapshot.withState((BlockState) newState));
+                            this.capturedSpongePopulators.get(populatorType).add(transaction);
+                        }
+                    } else {
+                        captureSkipped = true;
                     }
-                } else if (block.getMaterial().isLiquid() || currentState.getBlock().getMaterial().isLiquid()) {
-                    this.capturedSpongeBlockFluids.add(originalBlockSnapshot);
-                } else if (this.captureBlockDecay) {
-                    this.capturedSpongeBlockDecays.add(originalBlockSnapshot);
-                } else if (block == Blocks.air) {
-                    this.capturedSpongeBlockBreaks.add(originalBlockSnapshot);
-                } else if (block != currentState.getBlock()) {
-                    this.capturedSpongeBlockPlaces.add(originalBlockSnapshot);
                 } else {
-                    this.capturedSpongeBlockModifications.add(originalBlockSnapshot);
+                    if (block.getMaterial().isLiquid() || currentState.getBlock().getMaterial().isLiquid()) {
+                        captureBuffer = this.capturedSpongeBlockFluids;
+                    } else if (this.captureBlockDecay) {
+                        captureBuffer = this.capturedSpongeBlockDecays;
+                    } else if (block == Blocks.air) {
+                        captureBuffer = this.capturedSpongeBlockBreaks;
+                    } else if (block != currentState.getBlock()) {
+                        captureBuffer = this.capturedSpongeBlockPlaces;
+                    } else {
+                        captureBuffer = this.capturedSpongeBlockModifications;
+                    }
+
+                    // Player actions are always captured, ownership tracking and client resyncs depend on them
+                    if (StaticMixinHelper.packetPlayer == null && !isCaptureObserved(captureBuffer.getCaptureType())) {
+                        captureBuffer = null;
+                        captureSkipped = true;
+                    } else {
+                        IBlockState extendedState = currentState.getBlock().getActualState(currentState, (IBlockAccess) this, pos);
+                        captureIndex = captureBuffer.add(pos, currentState, extendedState, flags, getTileEntityPayload(currentState, pos));
+                    }
                 }
             }
 
             int oldLight = currentState.getBlock().getLightValue();
 
-            IBlockState iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, newBlockSnapshot);
+            IBlockState iblockstate1;
+            if (captureSkipped) {
+                // Nobody observes this change, let the chunk behave like vanilla
+                this.skippedCaptures++;
+                this.captureBlocks = false;
+                try {
+                    iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, newBlockSnapshot);
+                } finally {
+                    this.captureBlocks = true;
+                }
+            } else {
+                iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, newBlockSnapshot);
+            }
 
             if (iblockstate1 == null) {
-                if (originalBlockSnapshot != null) {
-                    this.capturedSpongeBlockBreaks.remove(originalBlockSnapshot);
-                    this.capturedSpongeBlockDecays.remove(originalBlockSnapshot);
-                    this.capturedSpongeBlockFluids.remove(originalBlockSnapshot);
-                    this.capturedSpongeBlockPlaces.remove(originalBlockSnapshot);
-                    this.capturedSpongeBlockModifications.remove(originalBlockSnapshot);
+                if (captureBuffer != null) {
+                    captureBuffer.remove(captureIndex);
                 }
                 return false;
             } else {
@@ -428,7 +465,7 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
                 }
 
                 // Don't notify clients or update physics while capturing blockstates
-                if (originalBlockSnapshot == null) {
+                if (originalBlockSnapshot == null && captureBuffer == null) {
                     // Modularize client and physic updates
                     markAndNotifyNeighbors(pos, chunk, iblockstate1, newState, flags);
                 }
@@ -472,8 +509,35 @@ public void onForceBlockUpdateTick(Block block, net.minecraft.world.World worldI
         this.processingCaptureCause = false;
     }
 
+    @Inject(method = "updateEntities", at = @At("HEAD"))
+    public void onUpdateEntitiesStart(CallbackInfo ci) {
+        if (this.isRemote) {
+            return;
+        }
+
+        this.activeEntityCount = 0;
+        this.inactiveEntityCount = 0;
+        this.activationRangeEnabled = EntityActivationRange.isEnabled();
+        if (this.activationRangeEnabled) {
+            EntityActivationRange.activateEntities(this.nmsWorld);
+        }
+    }
+
+    private boolean checkEntityActivation(net.minecraft.entity.Entity entity) {
+        if (this.activationRangeEnabled && !EntityActivationRange.checkIfActive(entity)) {
+            this.inactiveEntityCount++;
+            ((IMixinEntity) entity).inactiveTick();
+            return false;
+        }
+        this.activeEntityCount++;
+        return true;
+    }
+
     @Redirect(method = "updateEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V") )
     public void onUpdateEntities(net.minecraft.entity.Entity entityIn) {
+        if (!this.isRemote && !checkEntityActivation(entityIn)) {
+            return;
+        }
         if (this.isRemote || this.currentTickEntity != null) {
             entityIn.onUpdate();
             return;
@@ -504,6 +568,9 @@ public void onUpdateTileEntities(IUpdatePlayerListBox tile) {
 
     @Redirect(method = "updateEntityWithOptionalForce", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V") )
     public void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
+        if (!this.isRemote && !checkEntityActivation(entity)) {
+            return;
+        }
         if (this.isRemote || this.currentTickEntity != null || StaticMixinHelper.packetPlayer != null) {
             entity.onUpdate();
             return;
@@ -519,6 +586,10 @@ public void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
 
     @Inject(method = "onEntityRemoved", at = @At(value = "HEAD"))
     public void onEntityRemoval(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
+        if (!((SpongeEventManager) SpongeImpl.getGame().getEventManager()).hasListeners(DestructEntityEvent.class)) {
+            return;
+        }
+
         MessageSink sink = MessageSinks.toNone();
         MessageSink originalSink = MessageSinks.toNone();
         Text originalMessage = Texts.of();
@@ -598,6 +669,16 @@ public boolean spawnEntity(Entity entity, Cause cause) {
                         SpongeHooks.setCreatorEntityNbt(((IMixinEntity) entityIn).getSpongeData(), creator.get().getUniqueId());
                     }
                 }
+                if (StaticMixinHelper.packetPlayer == null && !isSpawnObserved(entityIn)) {
+                    this.skippedCaptures++;
+                    if (entityIn instanceof net.minecraft.entity.effect.EntityWeatherEffect) {
+                        return addWeatherEffect(entityIn);
+                    }
+                    this.getChunkFromChunkCoords(i, j).addEntity(entityIn);
+                    this.loadedEntityList.add(entityIn);
+                    this.onEntityAdded(entityIn);
+                    return true;
+                }
                 if (entityIn instanceof EntityItem) {
                     if (this.currentTickOnBlockAdded != null) {
                         this.capturedOnBlockAddedItems.add((Item) entityIn);
@@ -698,15 +779,18 @@ else if (!(entityIn instanceof EntityPlayer) && entityIn instanceof EntityTameab
         }
     }
 
+    protected boolean hasCapturedChanges() {
+        return this.capturedEntities.size() != 0 || this.capturedEntityItems.size() != 0 || !this.capturedSpongeBlockBreaks.isEmpty()
+                || !this.capturedSpongeBlockModifications.isEmpty() || !this.capturedSpongeBlockPlaces.isEmpty()
+                || !this.capturedSpongeBlockFluids.isEmpty() || this.capturedSpongePopulators.size() != 0;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void handlePostTickCaptures(Cause cause) {
         if (this.isRemote || this.restoringBlocks || cause == null || cause.isEmpty()) {
             return;
-        } else if (this.capturedEntities.size() == 0 && this.capturedEntityItems.size() == 0 && this.capturedSpongeBlockBreaks.size() == 0
-                && this.capturedSpongeBlockModifications.size() == 0 && this.capturedSpongeBlockPlaces.size() == 0
-                && this.capturedSpongeBlockFluids.size() == 0 && this.capturedSpongePopulators.size() == 0
-                && StaticMixinHelper.packetPlayer == null) {
+        } else if (!hasCapturedChanges() && StaticMixinHelper.packetPlayer == null) {
             return; // nothing was captured, return
         }
 
@@ -810,23 +894,24 @@ public void handlePostTickCaptures(Cause cause) {
         }
 
         // Handle Block captures
-        for (Map.Entry<CaptureType, List<BlockSnapshot>> mapEntry : this.captureBlockLists.entrySet()) {
-            CaptureType captureType = mapEntry.getKey();
-            List<BlockSnapshot> capturedBlockList = mapEntry.getValue();
+        for (BlockCaptureBuffer captureBuffer : this.captureBlockBuffers.values()) {
+            CaptureType captureType = captureBuffer.getCaptureType();
 
-            if (capturedBlockList.size() > 0) {
+            if (!captureBuffer.isEmpty()) {
                 ImmutableList<Transaction<BlockSnapshot>> blockTransactions;
                 ImmutableList.Builder<Transaction<BlockSnapshot>> builder = new ImmutableList.Builder<>();
 
-                Iterator<BlockSnapshot> iterator = capturedBlockList.iterator();
-                while (iterator.hasNext()) {
-                    BlockSnapshot blockSnapshot = iterator.next();
-                    BlockPos pos = VecHelper.toBlockPos(blockSnapshot.getPosition());
+                for (int i = 0; i < captureBuffer.size(); i++) {
+                    if (captureBuffer.isRemoved(i)) {
+                        continue;
+                    }
+                    BlockSnapshot blockSnapshot = getCapturedSnapshot(captureBuffer, i);
+                    BlockPos pos = captureBuffer.getPos(i);
                     IBlockState currentState = getBlockState(pos);
                     builder.add(new Transaction<>(blockSnapshot, createSpongeBlockSnapshot(currentState, currentState.getBlock()
                         .getActualState(currentState, (IBlockAccess) this, pos), pos, 0)));
-                    iterator.remove();
                 }
+                captureBuffer.clear();
                 blockTransactions = builder.build();
 
                 if (blockTransactions.size() > 0) {
@@ -1399,25 +1484,58 @@ public void updateComparatorOutputLevel(BlockPos pos, Block blockIn) {
 
     @Override
     public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag) {
+        return createSpongeBlockSnapshot(state, extended, pos, updateFlag, getTileEntityPayload(state, pos));
+    }
+
+    private SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag,
+            @Nullable TileEntityPayload payload) {
         this.builder.reset();
-        Location<World> location = new Location<>((World) this, VecHelper.toVector(pos));
         this.builder.blockState((BlockState) state)
                 .extendedState((BlockState) extended)
-                .worldId(location.getExtent().getUniqueId())
-                .position(location.getBlockPosition());
+                .worldId(getUniqueId())
+                .position(VecHelper.toVector(pos))
+                .tileEntityPayload(payload);
+
+        return new SpongeBlockSnapshot(this.builder, updateFlag);
+    }
+
+    private boolean isCaptureObserved(CaptureType captureType) {
+        return ((SpongeEventManager) SpongeImpl.getGame().getEventManager()).hasListeners(captureType.getEventClass());
+    }
+
+    private boolean isSpawnObserved(net.minecraft.entity.Entity entity) {
+        SpongeEventManager eventManager = (SpongeEventManager) SpongeImpl.getGame().getEventManager();
+        if (eventManager.hasListeners(SpawnEntityEvent.class) || entity instanceof EntityItem && eventManager.hasListeners(DropItemEvent.class)) {
+            return true;
+        }
+        // Spawns have to stay captured while block changes are, cancelled block events discard the drops
+        for (CaptureType captureType : CaptureType.values()) {
+            if (isCaptureObserved(captureType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private TileEntityPayload getTileEntityPayload(IBlockState state, BlockPos pos) {
         if (state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
-            NBTTagCompound nbt = null;
             if (te != null) {
-                nbt = new NBTTagCompound();
-                te.writeToNBT(nbt);
-            }
-            if (nbt != null) {
-                this.builder.unsafeNbt(nbt);
+                return ((IMixinTileEntity) te).getSnapshotPayload();
             }
         }
+        return null;
+    }
 
-        return new SpongeBlockSnapshot(this.builder, updateFlag);
+    private BlockSnapshot getCapturedSnapshot(BlockCaptureBuffer captureBuffer, int index) {
+        BlockSnapshot snapshot = captureBuffer.getSnapshot(index);
+        if (snapshot == null) {
+            snapshot = createSpongeBlockSnapshot(captureBuffer.getState(index), captureBuffer.getExtendedState(index), captureBuffer.getPos(index),
+                    captureBuffer.getUpdateFlag(index), captureBuffer.getTilePayload(index));
+            captureBuffer.setSnapshot(index, snapshot);
+        }
+        return snapshot;
     }
 
     @Override
@@ -1477,7 +1595,25 @@ public void setCapturingBlockDecay(boolean flag) {
 
     @Override
     public List<BlockSnapshot> getBlockBreakList() {
-        return this.capturedSpongeBlockBreaks;
+        if (this.blockBreakList == null) {
+            this.blockBreakList = this.capturedSpongeBlockBreaks.asSnapshotList(index -> getCapturedSnapshot(this.capturedSpongeBlockBreaks, index));
+        }
+        return this.blockBreakList;
+    }
+
+    @Override
+    public long getSkippedCaptureCount() {
+        return this.skippedCaptures;
+    }
+
+    @Override
+    public int getActiveEntityCount() {
+        return this.activeEntityCount;
+    }
+
+    @Override
+    public int getInactiveEntityCount() {
+        return this.inactiveEntityCount;
     }
 
     @Override
@@ -1829,6 +1965,16 @@ public SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig() {
         return this.worldConfig;
     }
 
+    @Override
+    public EffectiveWorldConfig getEffectiveConfig() {
+        EffectiveWorldConfig config = this.effectiveConfig;
+        if (config == null || !config.isCurrent()) {
+            config = EffectiveWorldConfig.of(SpongeHooks.getActiveConfig((net.minecraft.world.World) (Object) this));
+            this.effectiveConfig = config;
+        }
+        return config;
+    }
+
     @Override
     public void playSound(SoundType sound, Vector3d position, double volume) {
         this.playSound(sound, position, volume, 1);
@@ -2170,9 +2316,7 @@ public BlockSnapshot createSnapshot(int x, int y, int z) {
             for (DataManipulator<?, ?> manipulator : tileEntity.getContainers()) {
                 builder.add(manipulator);
             }
-            final NBTTagCompound compound = new NBTTagCompound();
-            ((net.minecraft.tileentity.TileEntity) tileEntity).writeToNBT(compound);
-            builder.unsafeNbt(compound);
+            builder.tileEntityPayload(((IMixinTileEntity) tileEntity).getSnapshotPayload());
         }
         return builder.build();
     }
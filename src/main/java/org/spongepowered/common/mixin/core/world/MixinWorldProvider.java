@@ -38,6 +38,7 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.configuration.EffectiveWorldConfig;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.IMixinWorldType;
@@ -128,6 +129,7 @@ public void setDimension(int dim) {
     @Override
     public void setDimensionConfig(SpongeConfig<SpongeConfig.DimensionConfig> config) {
         this.dimensionConfig = config;
+        EffectiveWorldConfig.invalidateAll();
     }
 
     @Override
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.world;
 
+import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import net.minecraft.block.Block;
@@ -55,16 +56,21 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.TrackedUser;
 import org.spongepowered.common.interfaces.IMixinBlockUpdate;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinScoreboardSaveData;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.interfaces.IMixinWorldInfo;
+import org.spongepowered.common.interfaces.IMixinWorldServer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ScheduledUpdateIndex;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
@@ -73,9 +79,10 @@
 
 @NonnullByDefault
 @Mixin(WorldServer.class)
-public abstract class MixinWorldServer extends MixinWorld {
+public abstract class MixinWorldServer extends MixinWorld implements IMixinWorldServer {
 
-    private Map<BlockPos, User> trackedBlockEvents = Maps.newHashMap();
+    private Map<BlockPos, TrackedUser> trackedBlockEvents = Maps.newHashMap();
+    private final ScheduledUpdateIndex scheduledUpdateIndex = new ScheduledUpdateIndex();
 
     @Shadow public abstract void updateBlockTick(BlockPos p_175654_1_, Block p_175654_2_, int p_175654_3_, int p_175654_4_);
     @Shadow public abstract boolean fireBlockEvent(BlockEventData event);
@@ -168,8 +175,8 @@ public void onAddBlockEvent(BlockPos pos, Block blockIn, int eventID, int eventP
             // Add player to block event position
             if (isBlockLoaded(pos)) {
                 IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
-                Optional<User> owner = spongeChunk.getBlockOwner(pos);
-                Optional<User> notifier = spongeChunk.getBlockNotifier(pos);
+                Optional<TrackedUser> owner = spongeChunk.getTrackedBlockOwner(pos);
+                Optional<TrackedUser> notifier = spongeChunk.getTrackedBlockNotifier(pos);
                 if (notifier.isPresent()) {
                     spongeChunk.addTrackedBlockPosition(blockIn, pos, notifier.get(), PlayerTracker.Type.NOTIFIER);
                     this.trackedBlockEvents.put(pos, notifier.get());
@@ -189,8 +196,8 @@ public void onAddBlockEvent(BlockPos pos, Block blockIn, int eventID, int eventP
             }
             if (sourcePos != null && isBlockLoaded(sourcePos)) {
                 IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(sourcePos);
-                Optional<User> owner = spongeChunk.getBlockOwner(sourcePos);
-                Optional<User> notifier = spongeChunk.getBlockNotifier(sourcePos);
+                Optional<TrackedUser> owner = spongeChunk.getTrackedBlockOwner(sourcePos);
+                Optional<TrackedUser> notifier = spongeChunk.getTrackedBlockNotifier(sourcePos);
                 if (notifier.isPresent()) {
                     spongeChunk.addTrackedBlockPosition(blockIn, pos, notifier.get(), PlayerTracker.Type.NOTIFIER);
                     this.trackedBlockEvents.put(pos, notifier.get());
@@ -208,13 +215,16 @@ public boolean onFireBlockEvent(net.minecraft.world.WorldServer worldIn, BlockEv
         IBlockState currentState = worldIn.getBlockState(event.getPosition());
         this.processingCaptureCause = true;
         this.currentTickBlock = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState, (IBlockAccess) this, event.getPosition()), event.getPosition(), 3);
+        StaticMixinHelper.blockEventUser = this.trackedBlockEvents.get(event.getPosition());
+        boolean result = fireBlockEvent(event);
         Cause cause = Cause.of(this.currentTickBlock);
-        if (this.trackedBlockEvents.get(event.getPosition()) != null) {
-            User user = this.trackedBlockEvents.get(event.getPosition());
-            cause = cause.with(user);
-            StaticMixinHelper.blockEventUser = user;
+        // Only load the user if the captures are going to be posted
+        if (StaticMixinHelper.blockEventUser != null && (hasCapturedChanges() || StaticMixinHelper.packetPlayer != null)) {
+            Optional<User> user = StaticMixinHelper.blockEventUser.getUser();
+            if (user.isPresent()) {
+                cause = cause.with(user.get());
+            }
         }
-        boolean result = fireBlockEvent(event);
         this.handlePostTickCaptures(cause);
         StaticMixinHelper.blockEventUser = null;
         this.currentTickBlock = null;
@@ -225,14 +235,43 @@ public boolean onFireBlockEvent(net.minecraft.world.WorldServer worldIn, BlockEv
 
     @Override
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        BlockPos position = new BlockPos(x, y, z);
-        ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
-        for (NextTickListEntry sbu : this.pendingTickListEntriesTreeSet) {
-            if (sbu.position.equals(position)) {
-                builder.add((ScheduledBlockUpdate) sbu);
-            }
+        List<NextTickListEntry> entries = new ArrayList<>();
+        this.scheduledUpdateIndex.get(new BlockPos(x, y, z), entries);
+        return toScheduledUpdates(entries);
+    }
+
+    @Override
+    public Collection<ScheduledBlockUpdate> getScheduledUpdatesInRegion(Vector3i min, Vector3i max) {
+        List<NextTickListEntry> entries = new ArrayList<>();
+        this.scheduledUpdateIndex.getInRegion(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ(), entries);
+        return toScheduledUpdates(entries);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<ScheduledBlockUpdate> toScheduledUpdates(List<NextTickListEntry> entries) {
+        // Same order as the pending tick tree set
+        entries.sort(null);
+        return (Collection<ScheduledBlockUpdate>) (Collection<?>) ImmutableList.copyOf(entries);
+    }
+
+    @Redirect(method = {"updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
+            "scheduleBlockUpdate(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V"},
+            at = @At(value = "INVOKE", target = "Ljava/util/Set;add(Ljava/lang/Object;)Z"))
+    private boolean onAddPendingTickEntry(Set<NextTickListEntry> pendingEntries, Object entry) {
+        if (pendingEntries.add((NextTickListEntry) entry)) {
+            this.scheduledUpdateIndex.add((NextTickListEntry) entry);
+            return true;
         }
-        return builder.build();
+        return false;
+    }
+
+    @Redirect(method = {"tickUpdates", "func_175712_a"}, at = @At(value = "INVOKE", target = "Ljava/util/Set;remove(Ljava/lang/Object;)Z"))
+    private boolean onRemovePendingTickEntry(Set<NextTickListEntry> pendingEntries, Object entry) {
+        if (pendingEntries.remove(entry)) {
+            this.scheduledUpdateIndex.remove((NextTickListEntry) entry);
+            return true;
+        }
+        return false;
     }
 
     private NextTickListEntry tmpScheduledObj;
@@ -269,7 +308,9 @@ public ScheduledBlockUpdate addScheduledUpdate(int x, int y, int z, int priority
     @Override
     public void removeScheduledUpdate(int x, int y, int z, ScheduledBlockUpdate update) {
         // Note: Ignores position argument
-        this.pendingTickListEntriesHashSet.remove(update);
+        if (this.pendingTickListEntriesHashSet.remove(update)) {
+            this.scheduledUpdateIndex.remove((NextTickListEntry) update);
+        }
         this.pendingTickListEntriesTreeSet.remove(update);
     }
 
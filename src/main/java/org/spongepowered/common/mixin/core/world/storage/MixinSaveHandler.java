@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.world.storage;
 
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.storage.SaveHandler;
@@ -40,6 +41,7 @@
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.IMixinSaveHandler;
 import org.spongepowered.common.interfaces.IMixinWorldInfo;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
@@ -75,6 +77,12 @@ public void onSaveWorldInfoWithPlayerAfterTagSet(WorldInfo worldInformation, NBT
     @Inject(method = "saveWorldInfoWithPlayer", at = @At("RETURN"))
     public void onSaveWorldInfoWithPlayerEnd(WorldInfo worldInformation, NBTTagCompound tagCompound, CallbackInfo ci) {
         saveSpongeDatData(worldInformation);
+        UserIndex.save((SaveHandler) (Object) this);
+    }
+
+    @Inject(method = "writePlayerData", at = @At("RETURN"))
+    public void onWritePlayerData(EntityPlayer player, CallbackInfo ci) {
+        UserIndex.onDataFileWritten((SaveHandler) (Object) this, player.getUniqueID());
     }
 
     @Inject(method = "saveWorldInfo", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;setTag(Ljava/lang/String;"
@@ -86,6 +94,7 @@ public void onSaveWorldInfoAfterTagSet(WorldInfo worldInformation, CallbackInfo
     @Inject(method = "saveWorldInfo", at = @At("RETURN"))
     public void onSaveWorldInfoEnd(WorldInfo worldInformation, CallbackInfo ci) {
         saveSpongeDatData(worldInformation);
+        UserIndex.save((SaveHandler) (Object) this);
     }
 
     @Override
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.IllegalReferenceCountException;
+
+/**
+ * Packet data that is encoded once and written by several connections.
+ *
+ * <p>The buffer holds one reference for every expected write, each write
+ * releases one of them. Once all references are released the data can't
+ * be written anymore, and the packet has to be encoded as usual.</p>
+ */
+public final class SharedPacketData {
+
+    private final ByteBuf data;
+
+    private SharedPacketData(ByteBuf data) {
+        this.data = data;
+    }
+
+    /**
+     * Shares the data between a number of writes. The reference held by the
+     * caller is handed over to the shared data.
+     *
+     * @param data The encoded data
+     * @param writes The number of times the data is going to be written
+     * @return The shared data
+     */
+    public static SharedPacketData share(ByteBuf data, int writes) {
+        checkNotNull(data, "data");
+        checkArgument(writes > 0, "writes must be positive");
+        if (writes > 1) {
+            data.retain(writes - 1);
+        }
+        return new SharedPacketData(data);
+    }
+
+    /**
+     * Writes the data and releases the reference of this write.
+     *
+     * @param target The buffer to write to
+     * @return False if all writes already happened and nothing was written
+     */
+    public boolean writeTo(ByteBuf target) {
+        try {
+            // Keep the data from being released by another connection while copying it
+            this.data.retain();
+        } catch (IllegalReferenceCountException e) {
+            return false;
+        }
+        try {
+            target.writeBytes(this.data, this.data.readerIndex(), this.data.readableBytes());
+        } finally {
+            this.data.release(2);
+        }
+        return true;
+    }
+
+}
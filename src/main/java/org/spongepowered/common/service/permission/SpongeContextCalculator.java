@@ -30,7 +30,6 @@
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.context.Context;
 import org.spongepowered.api.service.permission.context.ContextCalculator;
@@ -39,6 +38,7 @@
 import org.spongepowered.api.util.command.source.RemoteSource;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.IpSetTrie;
 
 import java.net.InetAddress;
 import java.util.Optional;
@@ -55,6 +55,22 @@ public class SpongeContextCalculator implements ContextCalculator {
     private final LoadingCache<RemoteSource, Set<Context>> localIpCache = buildAddressCache(Context.LOCAL_IP_KEY,
                                                                                             input -> input.getConnection().getVirtualHost().getAddress());
 
+    private volatile IpSetTrie ipSets;
+
+    private IpSetTrie getIpSets() {
+        return SpongeImpl.getGlobalConfig().getConfig().getIpSetTrie();
+    }
+
+    // The cached contexts include the ip sets, so forget them when the config was reloaded
+    private void checkIpSets() {
+        final IpSetTrie ipSets = getIpSets();
+        if (ipSets != this.ipSets) {
+            this.ipSets = ipSets;
+            this.remoteIpCache.invalidateAll();
+            this.localIpCache.invalidateAll();
+        }
+    }
+
     private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String contextKey, final Function<RemoteSource, InetAddress> function) {
         return CacheBuilder.newBuilder()
             .weakKeys()
@@ -64,9 +80,7 @@ public Set<Context> load(RemoteSource key) throws Exception {
                     ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
                     final InetAddress addr = checkNotNull(function.apply(key), "addr");
                     builder.add(new Context(contextKey, addr.getHostAddress()));
-                    for (String set : Maps.filterValues(SpongeImpl.getGlobalConfig().getConfig().getIpSets(), input -> {
-                        return input.apply(addr);
-                    }).keySet()) {
+                    for (String set : getIpSets().getMatching(addr)) {
                         builder.add(new Context(contextKey, set));
                     }
                     return builder.build();
@@ -86,6 +100,7 @@ public void accumulateContexts(Subject subject, Set<Context> accumulator) {
             }
             if (source instanceof RemoteSource) {
                 RemoteSource rem = (RemoteSource) source;
+                checkIpSets();
                 accumulator.addAll(this.remoteIpCache.getUnchecked(rem));
                 accumulator.addAll(this.localIpCache.getUnchecked(rem));
                 accumulator.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(rem.getConnection().getVirtualHost().getPort())));
@@ -115,8 +130,10 @@ public boolean matches(Context context, Subject subject) {
                 } else if (context.getType().equals(Context.LOCAL_PORT_KEY)) {
                     return context.getValue().equals(String.valueOf(remote.getConnection().getVirtualHost().getPort()));
                 } else if (context.getType().equals(Context.LOCAL_IP_KEY)) {
+                    checkIpSets();
                     return this.localIpCache.getUnchecked(remote).contains(context);
                 } else if (context.getType().equals(Context.REMOTE_IP_KEY)) {
+                    checkIpSets();
                     return this.remoteIpCache.getUnchecked(remote).contains(context);
                 }
             }
@@ -112,10 +112,10 @@ public MemorySubjectData getSubjectData() {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        Tristate ret = super.resolvePermissionValue(contexts, permission);
         if (ret == Tristate.UNDEFINED) {
-            ret = getDataPermissionValue(this.collection.getService().getDefaultData(), permission);
+            ret = getDataPermissionValue(this.collection.getService().getDefaultData(), contexts, permission);
         }
         if (ret == Tristate.UNDEFINED && getOpLevel() >= this.collection.getService().getServerOpLevel()) {
             ret = Tristate.TRUE;
@@ -35,8 +35,12 @@
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    @Nullable private volatile PermissionTable permissionTable;
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -46,6 +50,28 @@ public GlobalMemorySubjectData(PermissionService service) {
         super(service);
     }
 
+    /**
+     * Gets the permissions of this subject data, baked into a flat table.
+     *
+     * @return The permission table
+     */
+    PermissionTable getPermissionTable() {
+        PermissionTable table = this.permissionTable;
+        if (table == null) {
+            table = PermissionTable.of(getPermissions(GLOBAL_CONTEXT));
+            this.permissionTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Drops everything baked from this subject data, called after every
+     * change.
+     */
+    protected void onDataChanged() {
+        this.permissionTable = null;
+        PermissionResolver.invalidateAll();
+    }
 
     @Override
     public Map<Set<Context>, List<Subject>> getAllParents() {
@@ -57,7 +83,7 @@ public boolean setPermission(Set<Context> contexts, String permission, Tristate
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.setPermission(contexts, permission, value);
+        return changed(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -65,7 +91,7 @@ public boolean clearPermissions(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearPermissions(contexts);
+        return changed(super.clearPermissions(contexts));
     }
 
     @Override
@@ -73,7 +99,7 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        return changed(super.addParent(contexts, parent));
     }
 
     @Override
@@ -81,7 +107,7 @@ public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        return changed(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -89,6 +115,23 @@ public boolean clearParents(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        return changed(super.clearParents(contexts));
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        return changed(super.clearPermissions());
+    }
+
+    @Override
+    public boolean clearParents() {
+        return changed(super.clearParents());
+    }
+
+    protected final boolean changed(boolean changed) {
+        if (changed) {
+            onDataChanged();
+        }
+        return changed;
     }
 }
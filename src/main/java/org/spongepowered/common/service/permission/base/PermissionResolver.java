@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.service.permission.context.Context;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Remembers the resolved permission values of a {@link SpongeSubject}.
+ *
+ * <p>Resolving a permission walks the node tables of the subject, its
+ * parents and the default data, and for users may end in an ops list
+ * lookup. Every result is kept per context set until anything that can
+ * change it does: subject data, parents or the ops list. Since a change to
+ * one subject affects all of its children, a change drops the results of
+ * every subject at once by bumping a shared version.</p>
+ *
+ * <p>The permission tables baked from subject data that doesn't keep its
+ * own table are kept the same way, per subject data and context set.</p>
+ */
+public final class PermissionResolver {
+
+    // Permissions built from user input must not grow a subject without bound
+    private static final int MAX_CACHED_PERMISSIONS = 4096;
+
+    private static final AtomicInteger version = new AtomicInteger();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private final SpongeSubject subject;
+    private volatile Results results = new Results(version.get());
+
+    PermissionResolver(SpongeSubject subject) {
+        this.subject = subject;
+    }
+
+    /**
+     * Drops the cached permission values of all subjects.
+     */
+    public static void invalidateAll() {
+        version.incrementAndGet();
+    }
+
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    private Results getResults() {
+        Results results = this.results;
+        final int currentVersion = version.get();
+        if (results.version != currentVersion) {
+            results = new Results(currentVersion);
+            this.results = results;
+        }
+        return results;
+    }
+
+    Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        final ConcurrentMap<String, Tristate> values = getResults().get(contexts);
+        Tristate value = values.get(permission);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = this.subject.resolvePermissionValue(contexts, permission);
+        if (values.size() >= MAX_CACHED_PERMISSIONS) {
+            values.clear();
+        }
+        // Stored into the results of the version read above, which are
+        // discarded if anything changed in the meantime
+        values.put(permission, value);
+        return value;
+    }
+
+    PermissionTable getPermissionTable(MemorySubjectData data, Set<Context> contexts,
+            BiFunction<MemorySubjectData, Set<Context>, PermissionTable> baker) {
+        final ConcurrentMap<Set<Context>, PermissionTable> tables = getResults().getTables(data);
+        PermissionTable table = tables.get(contexts);
+        if (table == null) {
+            table = baker.apply(data, contexts);
+            tables.put(ImmutableSet.copyOf(contexts), table);
+        }
+        return table;
+    }
+
+    private static final class Results {
+
+        final int version;
+        final ConcurrentMap<String, Tristate> global = new ConcurrentHashMap<>();
+        final ConcurrentMap<Set<Context>, ConcurrentMap<String, Tristate>> contextual = new ConcurrentHashMap<>();
+        final ConcurrentMap<MemorySubjectData, ConcurrentMap<Set<Context>, PermissionTable>> tables = new ConcurrentHashMap<>();
+
+        Results(int version) {
+            this.version = version;
+        }
+
+        ConcurrentMap<String, Tristate> get(Set<Context> contexts) {
+            if (contexts == SubjectData.GLOBAL_CONTEXT || contexts.isEmpty()) {
+                return this.global;
+            }
+            ConcurrentMap<String, Tristate> values = this.contextual.get(contexts);
+            if (values == null) {
+                // Callers may reuse their context set, so key by a copy
+                values = new ConcurrentHashMap<>();
+                final ConcurrentMap<String, Tristate> existing = this.contextual.putIfAbsent(ImmutableSet.copyOf(contexts), values);
+                if (existing != null) {
+                    values = existing;
+                }
+            }
+            return values;
+        }
+
+        ConcurrentMap<Set<Context>, PermissionTable> getTables(MemorySubjectData data) {
+            return this.tables.computeIfAbsent(data, key -> new ConcurrentHashMap<>());
+        }
+
+    }
+
+}
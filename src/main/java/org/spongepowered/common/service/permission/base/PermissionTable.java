@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import org.spongepowered.api.util.Tristate;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A flat table of the permission nodes set on a subject data for a single
+ * context set.
+ *
+ * <p>A node applies to itself and to every node below it, so
+ * {@code worldedit} also decides {@code worldedit.wand}. A trailing
+ * {@code .*} is accepted as an explicit form of the same thing and a lone
+ * {@code *} sets the value of every node. Lookups walk from the full node
+ * up to the root and return the most specific value found.</p>
+ */
+final class PermissionTable {
+
+    static final PermissionTable EMPTY = new PermissionTable(new HashMap<>(), Tristate.UNDEFINED);
+
+    private static final String WILDCARD = "*";
+    private static final String WILDCARD_SUFFIX = ".*";
+
+    private final Map<String, Tristate> nodes;
+    private final Tristate rootValue;
+
+    private PermissionTable(Map<String, Tristate> nodes, Tristate rootValue) {
+        this.nodes = nodes;
+        this.rootValue = rootValue;
+    }
+
+    /**
+     * Bakes the given permissions into a table. Later maps take precedence
+     * over earlier ones.
+     *
+     * @param permissions The permissions, least specific context set first
+     * @return The table
+     */
+    @SafeVarargs
+    static PermissionTable of(Map<String, Boolean>... permissions) {
+        final Map<String, Tristate> nodes = new HashMap<>();
+        Tristate rootValue = Tristate.UNDEFINED;
+        for (Map<String, Boolean> map : permissions) {
+            for (Map.Entry<String, Boolean> entry : map.entrySet()) {
+                final String node = normalize(entry.getKey());
+                final Tristate value = Tristate.fromBoolean(entry.getValue());
+                if (node.isEmpty()) {
+                    rootValue = value;
+                } else {
+                    nodes.put(node, value);
+                }
+            }
+        }
+        return nodes.isEmpty() && rootValue == Tristate.UNDEFINED ? EMPTY : new PermissionTable(nodes, rootValue);
+    }
+
+    private static String normalize(String node) {
+        node = node.toLowerCase(Locale.ENGLISH);
+        if (node.equals(WILDCARD)) {
+            return "";
+        } else if (node.endsWith(WILDCARD_SUFFIX)) {
+            return node.substring(0, node.length() - WILDCARD_SUFFIX.length());
+        }
+        return node;
+    }
+
+    Tristate get(String permission) {
+        if (this.nodes.isEmpty()) {
+            return this.rootValue;
+        }
+        String node = normalize(permission);
+        while (!node.isEmpty()) {
+            final Tristate value = this.nodes.get(node);
+            if (value != null) {
+                return value;
+            }
+            final int separator = node.lastIndexOf('.');
+            node = separator == -1 ? "" : node.substring(0, separator);
+        }
+        return this.rootValue;
+    }
+
+}
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectData;
@@ -35,6 +36,8 @@
 
 public abstract class SpongeSubject implements Subject {
 
+    private final PermissionResolver resolver = new PermissionResolver(this);
+
     @Override
     public SubjectData getTransientSubjectData() {
         return getSubjectData();
@@ -55,15 +58,27 @@ public boolean hasPermission(String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        return getDataPermissionValue(getSubjectData(), permission);
+        return this.resolver.getPermissionValue(contexts, permission);
+    }
+
+    /**
+     * Resolves a permission without going through the cache of this
+     * subject, called for permissions that are not cached yet.
+     *
+     * @param contexts The contexts to check with
+     * @param permission The permission to check
+     * @return The permission value
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        return getDataPermissionValue(getSubjectData(), contexts, permission);
     }
 
-    protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
-        Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+    protected Tristate getDataPermissionValue(MemorySubjectData subject, Set<Context> contexts, String permission) {
+        Tristate res = getPermissionTable(subject, contexts).get(permission);
 
         if (res == Tristate.UNDEFINED) {
-            for (Subject parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
-                Tristate tempRes = parent.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission);
+            for (Subject parent : getDataParents(subject, contexts)) {
+                Tristate tempRes = parent.getPermissionValue(contexts, permission);
                 if (tempRes != Tristate.UNDEFINED) {
                     res = tempRes;
                     break;
@@ -73,6 +88,33 @@ protected Tristate getDataPermissionValue(MemorySubjectData subject, String perm
         return res;
     }
 
+    private PermissionTable getPermissionTable(MemorySubjectData data, Set<Context> contexts) {
+        if (data instanceof GlobalMemorySubjectData) {
+            // Only holds global data, which applies to every context set
+            return ((GlobalMemorySubjectData) data).getPermissionTable();
+        }
+        return this.resolver.getPermissionTable(data, contexts, SpongeSubject::bakePermissionTable);
+    }
+
+    private static PermissionTable bakePermissionTable(MemorySubjectData data, Set<Context> contexts) {
+        if (SubjectData.GLOBAL_CONTEXT.equals(contexts)) {
+            return PermissionTable.of(data.getPermissions(SubjectData.GLOBAL_CONTEXT));
+        }
+        return PermissionTable.of(data.getPermissions(SubjectData.GLOBAL_CONTEXT), data.getPermissions(contexts));
+    }
+
+    private static List<Subject> getDataParents(MemorySubjectData data, Set<Context> contexts) {
+        final List<Subject> globalParents = data.getParents(SubjectData.GLOBAL_CONTEXT);
+        if (SubjectData.GLOBAL_CONTEXT.equals(contexts)) {
+            return globalParents;
+        }
+        final List<Subject> parents = data.getParents(contexts);
+        if (parents.isEmpty()) {
+            return globalParents;
+        }
+        return ImmutableList.<Subject>builder().addAll(parents).addAll(globalParents).build();
+    }
+
     @Override
     public boolean isChildOf(Subject parent) {
         return isChildOf(getActiveContexts(), parent);
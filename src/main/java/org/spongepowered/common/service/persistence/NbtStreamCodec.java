@@ -0,0 +1,353 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.spongepowered.api.data.DataQuery.of;
+import static org.spongepowered.common.service.persistence.NbtTranslator.BOOLEAN_IDENTIFER;
+
+import com.google.common.collect.Lists;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link DataView}s as binary NBT and reads them back, without
+ * building an {@link net.minecraft.nbt.NBTTagCompound} tree in between.
+ *
+ * <p>The output is the same, byte for byte, as writing the compound of
+ * {@link NbtTranslator#translateData} with
+ * {@link net.minecraft.nbt.CompressedStreamTools#write}. That includes
+ * the {@link NbtTranslator#BOOLEAN_IDENTIFER} suffix of boolean keys, the
+ * order of the keys within a compound and dropping list elements of a
+ * different type than the first one. Reading follows
+ * {@link NbtTranslator#translateFrom}.</p>
+ */
+public final class NbtStreamCodec {
+
+    /**
+     * The limit vanilla applies to NBT read from packets.
+     */
+    public static final long PACKET_SIZE_LIMIT = 2097152L;
+    private static final int MAX_DEPTH = 512;
+
+    private NbtStreamCodec() {
+    }
+
+    /**
+     * Writes the view as an unnamed root compound.
+     *
+     * @param view The view to write
+     * @param output The output to write to
+     * @throws IOException If the output could not be written to
+     */
+    public static void write(DataView view, DataOutput output) throws IOException {
+        checkNotNull(view);
+        output.writeByte(NbtDataUtil.TAG_COMPOUND);
+        output.writeUTF("");
+        writeView(view, output);
+    }
+
+    /**
+     * Reads a root compound into a new container.
+     *
+     * @param input The input to read from
+     * @param sizeLimit The maximum number of bytes the decoded data may take
+     * @return The read data
+     * @throws IOException If the input could not be read or is malformed
+     */
+    public static DataContainer read(DataInput input, long sizeLimit) throws IOException {
+        if (input.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        input.readUTF();
+        final DataContainer container = new MemoryDataContainer();
+        new Reader(input, sizeLimit).readCompound(container, 0);
+        return container;
+    }
+
+    private static void writeView(DataView view, DataOutput output) throws IOException {
+        // Collected the way a compound stores its tags, so the keys are written in the same order
+        final Map<String, Object> entries = new HashMap<>();
+        for (Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+            final Object value = entry.getValue();
+            final String key = entry.getKey().asString('.');
+            entries.put(value instanceof Boolean ? key + BOOLEAN_IDENTIFER : key, value);
+        }
+        writeEntries(entries, output);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeMap(Map<Object, Object> map, DataOutput output) throws IOException {
+        final Map<String, Object> entries = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            final Object key = entry.getKey();
+            if (key instanceof DataQuery) {
+                final String name = ((DataQuery) key).asString('.');
+                entries.put(entry.getValue() instanceof Boolean ? name + BOOLEAN_IDENTIFER : name, entry.getValue());
+            } else if (key instanceof String) {
+                entries.put((String) key, entry.getValue());
+            } else {
+                entries.put(key.toString(), entry.getValue());
+            }
+        }
+        writeEntries(entries, output);
+    }
+
+    private static void writeEntries(Map<String, Object> entries, DataOutput output) throws IOException {
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            output.writeByte(getType(entry.getValue()));
+            output.writeUTF(entry.getKey());
+            writePayload(entry.getValue(), output);
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static byte getType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return NbtDataUtil.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return NbtDataUtil.TAG_INT_ARRAY;
+        } else if (value.getClass().isArray()) {
+            throw new IllegalArgumentException("Unable to translate object to NBTBase!");
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase!");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(Object value, DataOutput output) throws IOException {
+        if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Byte) {
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            output.writeUTF((String) value);
+        } else if (value instanceof byte[]) {
+            output.writeInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else if (value instanceof Byte[]) {
+            output.writeInt(((Byte[]) value).length);
+            for (Byte data : (Byte[]) value) {
+                output.writeByte(data);
+            }
+        } else if (value instanceof int[]) {
+            output.writeInt(((int[]) value).length);
+            for (int data : (int[]) value) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof Integer[]) {
+            output.writeInt(((Integer[]) value).length);
+            for (Integer data : (Integer[]) value) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof List) {
+            writeList((List<Object>) value, output);
+        } else if (value instanceof Map) {
+            writeMap((Map<Object, Object>) value, output);
+        } else if (value instanceof DataSerializable) {
+            writeView(((DataSerializable) value).toContainer(), output);
+        } else {
+            writeView((DataView) value, output);
+        }
+    }
+
+    private static void writeList(List<Object> list, DataOutput output) throws IOException {
+        // Like NBTTagList#appendTag, elements that don't match the type of the first one are left out
+        final byte[] types = new byte[list.size()];
+        byte listType = NbtDataUtil.TAG_END;
+        int count = 0;
+        for (int i = 0; i < types.length; i++) {
+            types[i] = getType(list.get(i));
+            if (listType == NbtDataUtil.TAG_END) {
+                listType = types[i];
+            }
+            if (types[i] == listType) {
+                count++;
+            }
+        }
+        output.writeByte(listType);
+        output.writeInt(count);
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == listType) {
+                writePayload(list.get(i), output);
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInput input;
+        private final long sizeLimit;
+        private long size;
+
+        Reader(DataInput input, long sizeLimit) {
+            this.input = input;
+            this.sizeLimit = sizeLimit;
+        }
+
+        private void allocate(long bytes) {
+            this.size += bytes;
+            if (this.size > this.sizeLimit) {
+                throw new RuntimeException("Tried to read NBT tag that was too big; tried to allocate: " + this.size + " bytes where max allowed: "
+                        + this.sizeLimit);
+            }
+        }
+
+        private String readString() throws IOException {
+            final String string = this.input.readUTF();
+            allocate(2L * string.length());
+            return string;
+        }
+
+        void readCompound(DataView view, int depth) throws IOException {
+            if (depth > MAX_DEPTH) {
+                throw new RuntimeException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+            }
+            byte type;
+            while ((type = this.input.readByte()) != NbtDataUtil.TAG_END) {
+                final String key = readString();
+                checkArgument(!key.isEmpty());
+                if (type == NbtDataUtil.TAG_BYTE && key.contains(BOOLEAN_IDENTIFER)) {
+                    allocate(1);
+                    view.set(of('.', key.replace(BOOLEAN_IDENTIFER, "")), this.input.readByte() == 1);
+                } else if (type == NbtDataUtil.TAG_COMPOUND) {
+                    // Read straight into the child view instead of copying a new container into it
+                    readCompound(view.createView(of('.', key)), depth + 1);
+                } else {
+                    view.set(of('.', key), readPayload(type, depth));
+                }
+            }
+        }
+
+        private Object readPayload(byte type, int depth) throws IOException {
+            switch (type) {
+                case NbtDataUtil.TAG_BYTE:
+                    allocate(1);
+                    return this.input.readByte();
+                case NbtDataUtil.TAG_SHORT:
+                    allocate(2);
+                    return this.input.readShort();
+                case NbtDataUtil.TAG_INT:
+                    allocate(4);
+                    return this.input.readInt();
+                case NbtDataUtil.TAG_LONG:
+                    allocate(8);
+                    return this.input.readLong();
+                case NbtDataUtil.TAG_FLOAT:
+                    allocate(4);
+                    return this.input.readFloat();
+                case NbtDataUtil.TAG_DOUBLE:
+                    allocate(8);
+                    return this.input.readDouble();
+                case NbtDataUtil.TAG_BYTE_ARRAY: {
+                    final int length = this.input.readInt();
+                    allocate(length);
+                    final byte[] array = new byte[length];
+                    this.input.readFully(array);
+                    return array;
+                }
+                case NbtDataUtil.TAG_STRING:
+                    return readString();
+                case NbtDataUtil.TAG_LIST:
+                    return readList(depth + 1);
+                case NbtDataUtil.TAG_COMPOUND: {
+                    final DataContainer container = new MemoryDataContainer();
+                    readCompound(container, depth + 1);
+                    return container;
+                }
+                case NbtDataUtil.TAG_INT_ARRAY: {
+                    final int length = this.input.readInt();
+                    allocate(4L * length);
+                    final int[] array = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        array[i] = this.input.readInt();
+                    }
+                    return array;
+                }
+                default:
+                    throw new IOException("Unknown NBT tag type " + type);
+            }
+        }
+
+        private List<Object> readList(int depth) throws IOException {
+            if (depth > MAX_DEPTH) {
+                throw new RuntimeException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+            }
+            final byte listType = this.input.readByte();
+            final int count = this.input.readInt();
+            if (listType == NbtDataUtil.TAG_END && count > 0) {
+                throw new RuntimeException("Missing type on ListTag");
+            }
+            allocate(4L * Math.max(count, 0));
+            final List<Object> list = Lists.newArrayListWithCapacity(Math.max(count, 0));
+            for (int i = 0; i < count; i++) {
+                list.add(readPayload(listType, depth));
+            }
+            return list;
+        }
+
+    }
+
+}
@@ -24,12 +24,8 @@
  */
 package org.spongepowered.common.service.scheduler;
 
-import org.spongepowered.api.service.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -37,14 +33,11 @@
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The elastic executor of asynchronous tasks, with a quota per plugin.
+    private final AsyncTaskExecutor executor = new AsyncTaskExecutor(SpongeImpl.getGlobalConfig().getConfig().getAsyncScheduler());
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -55,61 +48,28 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
-    ExecutorService getExecutor() {
+    AsyncTaskExecutor getTaskExecutor() {
         return this.executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.currentTimeMillis();
         while (true) {
-            recalibrateMinimumTimeout();
             this.runTick();
         }
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.currentTimeMillis();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.currentTimeMillis() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
-        }
-    }
-
     @Override
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.MILLISECONDS);
+            // Wait until the earliest task is due, or new tasks are added
+            long timeout = this.getNextDueTime();
+            if (timeout != Long.MAX_VALUE) {
+                timeout -= System.currentTimeMillis();
+            }
+            if (timeout > 0) {
+                this.condition.await(timeout, TimeUnit.MILLISECONDS);
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -118,19 +78,14 @@ protected void preTick() {
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.currentTimeMillis();
-    }
-
     @Override
     protected void finallyPostTick() {
         this.lock.unlock();
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
-        this.executor.submit(runnable);
+    protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        return this.executor.execute(task.getOwner(), runnable);
     }
 
     @Override
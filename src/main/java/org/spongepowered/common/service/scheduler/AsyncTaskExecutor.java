@@ -0,0 +1,363 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.scheduler;
+
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.AbstractListeningExecutorService;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.configuration.SpongeConfig;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs asynchronous tasks on an elastic thread pool, limiting how many tasks
+ * of a single plugin may run or wait for a free slot at the same time.
+ */
+public final class AsyncTaskExecutor {
+
+    private final ExecutorService executor;
+    @Nullable private final ThreadPoolExecutor pool;
+    private final int maxRunning;
+    private final int maxQueued;
+    private final AtomicInteger threadId = new AtomicInteger();
+    private final ConcurrentMap<PluginContainer, PluginQuota> quotas = Maps.newConcurrentMap();
+
+    AsyncTaskExecutor(SpongeConfig.AsyncSchedulerCategory config) {
+        this.maxQueued = config.getMaxQueuedTasksPerPlugin();
+
+        ExecutorService executor = null;
+        if (config.useVirtualThreads()) {
+            executor = createVirtualThreadExecutor();
+            if (executor == null) {
+                SpongeImpl.getLogger().warn("Virtual threads are not supported by this Java version, falling back to the async task pool");
+            }
+        }
+
+        if (executor == null) {
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "Sponge Async Task Thread - " + this.threadId.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setContextClassLoader(AsyncTaskExecutor.class.getClassLoader());
+                return thread;
+            };
+            int threads = config.getThreadCount();
+            if (threads > 0) {
+                // Bounded pool, idle threads still time out
+                this.pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+                this.pool.allowCoreThreadTimeOut(true);
+            } else {
+                // Async tasks mostly block on I/O, grow the pool as needed like a cached pool
+                this.pool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), factory);
+            }
+            this.maxRunning = limitRunning(config.getMaxRunningTasksPerPlugin(), threads);
+            this.executor = this.pool;
+        } else {
+            this.pool = null;
+            this.executor = executor;
+            this.maxRunning = config.getMaxRunningTasksPerPlugin();
+        }
+    }
+
+    /**
+     * Limits the running tasks of a plugin to fewer than the threads of a
+     * bounded pool, so a single plugin can't hold up the tasks of all others.
+     *
+     * @param maxRunning The configured limit, 0 for no limit
+     * @param threads The configured number of threads, 0 if unbounded
+     * @return The limit to use
+     */
+    private static int limitRunning(int maxRunning, int threads) {
+        if (threads <= 1) {
+            return maxRunning;
+        }
+        return maxRunning <= 0 ? threads - 1 : Math.min(maxRunning, threads - 1);
+    }
+
+    @Nullable
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets an executor that runs tasks within the quota of a plugin. Tasks
+     * exceeding the queue limit of the plugin are rejected. The executor
+     * can't be shut down, the pool is shared by all plugins.
+     *
+     * @param plugin The plugin to run the tasks as
+     * @return The executor
+     */
+    ListeningExecutorService getExecutor(PluginContainer plugin) {
+        return new SharedExecutor(plugin);
+    }
+
+    /**
+     * Gets an executor for internal work, which runs tasks on the pool
+     * without the quota of any plugin. The executor can't be shut down.
+     *
+     * @return The executor
+     */
+    ListeningExecutorService getInternalExecutor() {
+        return new SharedExecutor(null);
+    }
+
+    /**
+     * Runs the task within the quota of a plugin.
+     *
+     * @param plugin The plugin to run the task as
+     * @param runnable The task
+     * @return False if the task was rejected because too many tasks of the
+     *     plugin are queued
+     */
+    boolean execute(PluginContainer plugin, Runnable runnable) {
+        return getQuota(plugin).submit(runnable);
+    }
+
+    private PluginQuota getQuota(PluginContainer plugin) {
+        return this.quotas.computeIfAbsent(plugin, PluginQuota::new);
+    }
+
+    public boolean usesVirtualThreads() {
+        return this.pool == null;
+    }
+
+    /**
+     * Gets the number of threads in the pool, or -1 if tasks run on virtual
+     * threads.
+     *
+     * @return The number of threads
+     */
+    public int getPoolSize() {
+        return this.pool == null ? -1 : this.pool.getPoolSize();
+    }
+
+    /**
+     * Gets the largest number of threads that have been in the pool at the
+     * same time, or -1 if tasks run on virtual threads.
+     *
+     * @return The largest number of threads
+     */
+    public int getLargestPoolSize() {
+        return this.pool == null ? -1 : this.pool.getLargestPoolSize();
+    }
+
+    public int getActiveThreadCount() {
+        return this.pool == null ? -1 : this.pool.getActiveCount();
+    }
+
+    /**
+     * Gets the number of tasks submitted to the pool which are not yet
+     * running. Tasks waiting for a free plugin slot are not included.
+     *
+     * @return The number of queued tasks
+     */
+    public long getQueuedTaskCount() {
+        return this.pool == null ? -1 : this.pool.getQueue().size();
+    }
+
+    public long getCompletedTaskCount() {
+        return this.pool == null ? -1 : this.pool.getCompletedTaskCount();
+    }
+
+    public Map<PluginContainer, PluginQuota> getQuotas() {
+        return Collections.unmodifiableMap(this.quotas);
+    }
+
+    /**
+     * The running and queued tasks of a single plugin.
+     */
+    public final class PluginQuota {
+
+        private final PluginContainer plugin;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong rejected = new AtomicLong();
+
+        PluginQuota(PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+        public int getRunning() {
+            return this.running.get();
+        }
+
+        public int getQueued() {
+            return this.queued.get();
+        }
+
+        public long getRejected() {
+            return this.rejected.get();
+        }
+
+        /**
+         * Runs the task once a slot is free.
+         *
+         * @param runnable The task
+         * @return False if the task was rejected because too many tasks
+         *     are queued
+         */
+        boolean submit(Runnable runnable) {
+            if (tryAcquire()) {
+                start(runnable);
+                return true;
+            }
+
+            if (this.queued.incrementAndGet() > AsyncTaskExecutor.this.maxQueued && AsyncTaskExecutor.this.maxQueued > 0) {
+                this.queued.decrementAndGet();
+                long rejected = this.rejected.incrementAndGet();
+                if (rejected == 1 || rejected % 1000 == 0) {
+                    SpongeImpl.getLogger().warn("{} has too many pending asynchronous tasks, {} tasks have been rejected so far", this.plugin,
+                            rejected);
+                }
+                return false;
+            }
+            this.queue.add(runnable);
+            // A slot may have been released before the task was queued
+            drain();
+            return true;
+        }
+
+        private boolean tryAcquire() {
+            int max = AsyncTaskExecutor.this.maxRunning;
+            if (max <= 0) {
+                this.running.incrementAndGet();
+                return true;
+            }
+
+            int current;
+            do {
+                current = this.running.get();
+                if (current >= max) {
+                    return false;
+                }
+            } while (!this.running.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release() {
+            this.running.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            while (!this.queue.isEmpty() && tryAcquire()) {
+                Runnable runnable = this.queue.poll();
+                if (runnable == null) {
+                    // Another thread took the task
+                    this.running.decrementAndGet();
+                    continue;
+                }
+                this.queued.decrementAndGet();
+                start(runnable);
+            }
+        }
+
+        private void start(Runnable runnable) {
+            try {
+                AsyncTaskExecutor.this.executor.execute(() -> {
+                    try {
+                        runnable.run();
+                    } finally {
+                        release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                this.running.decrementAndGet();
+                SpongeImpl.getLogger().error("Failed to run an asynchronous task of {}", this.plugin, e);
+            }
+        }
+
+    }
+
+    private final class SharedExecutor extends AbstractListeningExecutorService {
+
+        @Nullable private final PluginContainer plugin;
+
+        SharedExecutor(@Nullable PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (this.plugin == null) {
+                AsyncTaskExecutor.this.executor.execute(command);
+            } else if (!getQuota(this.plugin).submit(command)) {
+                throw new RejectedExecutionException("Too many asynchronous tasks of " + this.plugin + " are pending");
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            throw new UnsupportedOperationException("The async task pool is shared and can't be shut down");
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            throw new UnsupportedOperationException("The async task pool is shared and can't be shut down");
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException("The async task pool is shared and can't be shut down");
+        }
+
+    }
+
+}
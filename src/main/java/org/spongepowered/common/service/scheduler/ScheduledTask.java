@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.scheduler;
 
+import co.aikar.timings.Timing;
 import com.google.common.base.Objects;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.service.scheduler.Task;
@@ -31,6 +32,8 @@
 import java.util.UUID;
 import java.util.function.Consumer;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -48,6 +51,9 @@ public class ScheduledTask implements Task {
     private final String name;
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    // The timestamp at which the task is due next, managed by the scheduler
+    long nextRunTime;
+    @Nullable Timing timings;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -64,7 +70,9 @@ public enum ScheduledTaskState {
          */
         RUNNING(true),
         /**
-         * Task cancelled, scheduled to be removed from the task map.
+         * Task cancelled, removed from the task map right away. It is removed
+         * from the queue of due tasks when it becomes due, or earlier when the
+         * scheduler purges its queues after many tasks were cancelled.
          */
         CANCELED(false);
 
@@ -121,6 +129,7 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        SpongeScheduler.getInstance().cancel(this);
         return success;
     }
 
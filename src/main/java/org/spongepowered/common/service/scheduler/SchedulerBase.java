@@ -24,21 +24,44 @@
  */
 package org.spongepowered.common.service.scheduler;
 
+import co.aikar.timings.SpongeTimings;
+import co.aikar.timings.Timing;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.service.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    private static final Comparator<ScheduledTask> DUE_ORDER = (a, b) -> Long.compare(a.nextRunTime, b.nextRunTime);
+    // The number of cancelled tasks after which the queues are purged
+    private static final int PURGE_THRESHOLD = 64;
+
+    // All pending (and running) ScheduledTasks, by id
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks added since the last tick, handed over to the ticking thread
+    private final Queue<ScheduledTask> addedTasks = new ConcurrentLinkedQueue<>();
+    // Tasks ordered by the time they are due next, one queue per clock.
+    // Both queues are only accessed by the ticking thread.
+    private final PriorityQueue<ScheduledTask> tickQueue = new PriorityQueue<>(11, DUE_ORDER);
+    private final PriorityQueue<ScheduledTask> timeQueue = new PriorityQueue<>(11, DUE_ORDER);
+    private final ConcurrentMap<PluginContainer, TaskMetrics> metrics = Maps.newConcurrentMap();
+    // Tasks cancelled since the queues were last purged
+    private final AtomicInteger cancelledTasks = new AtomicInteger();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -62,6 +85,17 @@ protected long getTimestamp(ScheduledTask task) {
         return System.currentTimeMillis();
     }
 
+    /**
+     * Gets whether the timestamp of the task, as returned by
+     * {@link #getTimestamp}, is measured in ticks.
+     *
+     * @param task The task
+     * @return True if the timestamp is in ticks, false for milliseconds
+     */
+    protected boolean isTickBased(ScheduledTask task) {
+        return false;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -71,6 +105,7 @@ protected long getTimestamp(ScheduledTask task) {
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
+        this.addedTasks.add(task);
     }
 
     /**
@@ -82,6 +117,19 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    /**
+     * Removes a cancelled task from the task map. Its queue entry is removed
+     * when it becomes due, or when the queues are purged on the next tick
+     * once {@link #PURGE_THRESHOLD} tasks were cancelled.
+     *
+     * @param task The cancelled task
+     */
+    protected void cancelTask(ScheduledTask task) {
+        if (this.taskMap.remove(task.getUniqueId()) != null) {
+            this.cancelledTasks.incrementAndGet();
+        }
+    }
+
     protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
@@ -92,13 +140,44 @@ protected Set<Task> getScheduledTasks() {
         }
     }
 
+    Map<PluginContainer, TaskMetrics> getMetrics() {
+        return this.metrics;
+    }
+
     /**
-     * Process all tasks in the map.
+     * Gets the earliest wall clock time at which a task is due. Tasks measured
+     * in ticks are not considered.
+     *
+     * @return The time in milliseconds, 0 if tasks were added since the last
+     *     tick or {@link Long#MAX_VALUE} if no task is scheduled
+     */
+    protected long getNextDueTime() {
+        if (!this.addedTasks.isEmpty()) {
+            return 0L;
+        }
+        ScheduledTask task = this.timeQueue.peek();
+        return task == null ? Long.MAX_VALUE : task.nextRunTime;
+    }
+
+    /**
+     * Process all tasks which are due.
      */
     protected final void runTick() {
         this.preTick();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            ScheduledTask task;
+            while ((task = this.addedTasks.poll()) != null) {
+                if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                    this.queueTask(task);
+                }
+            }
+            if (this.cancelledTasks.get() >= PURGE_THRESHOLD) {
+                this.cancelledTasks.set(0);
+                this.tickQueue.removeIf(SchedulerBase::isCancelled);
+                this.timeQueue.removeIf(SchedulerBase::isCancelled);
+            }
+            this.processQueue(this.tickQueue);
+            this.processQueue(this.timeQueue);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -124,41 +203,68 @@ protected void postTick() {
     protected void finallyPostTick() {
     }
 
+    private void queueTask(ScheduledTask task) {
+        // Figure out if we start a delayed Task after threshold ticks or, start
+        // it after the interval (period) of the repeating task parameter.
+        long threshold = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.offset : task.period;
+        task.nextRunTime = task.getTimestamp() + threshold;
+        (this.isTickBased(task) ? this.tickQueue : this.timeQueue).add(task);
+    }
+
+    private void processQueue(PriorityQueue<ScheduledTask> queue) {
+        ScheduledTask task;
+        while ((task = queue.peek()) != null) {
+            // Cancelled tasks are already gone from the task map, only the
+            // queue entry is left to remove.
+            if (isCancelled(task)) {
+                queue.poll();
+                continue;
+            }
+            // This moment is 'now', the queue is ordered so nothing after this
+            // task is due either.
+            long now = this.getTimestamp(task);
+            if (now < task.nextRunTime) {
+                return;
+            }
+            queue.poll();
+            this.processTask(task, now);
+        }
+    }
+
+    private static boolean isCancelled(ScheduledTask task) {
+        return task.getState() == ScheduledTask.ScheduledTaskState.CANCELED;
+    }
+
     /**
-     * Processes the task.
+     * Processes a task which is due.
      *
      * @param task The task to process
+     * @param now The current timestamp of the task
      */
-    protected void processTask(ScheduledTask task) {
-        // If the task is now slated to be cancelled, we just remove it as if it
-        // no longer exists.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
-            this.removeTask(task);
-            return;
-        }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
+    private void processTask(ScheduledTask task, long now) {
+        long lag = now - task.nextRunTime;
+        if (this.isTickBased(task)) {
+            lag *= SpongeScheduler.TICK_DURATION;
         }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
+
         // Repeating tasks get a reset-timestamp each time they are set RUNNING
         // If the task has a period of 0 (zero) this task will not repeat, and
         // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        if (!startTask(task, System.currentTimeMillis() - lag)) {
+            // Drop the task rather than keep it scheduled as if it ran
+            SpongeImpl.getLogger().error("The Scheduler could not run the task {} owned by {}, too many of its tasks are pending. "
+                    + "The task has been cancelled.", task.getName(), task.getOwner());
+            task.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+            this.removeTask(task);
+            return;
+        }
+        // If task is one time shot, remove it from the map.
+        if (task.period == 0L) {
+            this.removeTask(task);
+        } else {
+            this.queueTask(task);
         }
     }
 
@@ -166,24 +272,51 @@ protected void processTask(ScheduledTask task) {
      * Begin the execution of a task. Exceptions are caught and logged.
      *
      * @param task The task to start
+     * @param dueTime The wall clock time at which the task was due
+     * @return False if the task was rejected
      */
-    protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(() -> {
+    protected boolean startTask(final ScheduledTask task, final long dueTime) {
+        return this.executeTaskRunnable(task, () -> {
+            long start = System.nanoTime();
+            long lag = System.currentTimeMillis() - dueTime;
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            Timing timings = this.getTimings(task);
+            if (timings != null) {
+                timings.startTiming();
+            }
             try {
                 task.getConsumer().accept(task);
             } catch (Throwable t) {
                 SpongeImpl.getLogger().error("The Scheduler tried to run the task {} owned by {}, but an error occured.", task.getName(),
                                              task.getOwner(), t);
+            } finally {
+                if (timings != null) {
+                    timings.stopTiming();
+                }
+                this.metrics.computeIfAbsent(task.getOwner(), plugin -> new TaskMetrics()).record(Math.max(lag, 0L), System.nanoTime() - start);
             }
         });
     }
 
+    @Nullable
+    private Timing getTimings(ScheduledTask task) {
+        if (task.isAsynchronous()) {
+            // Timings are only tracked on the main thread
+            return null;
+        }
+        if (task.timings == null) {
+            task.timings = SpongeTimings.getPluginTaskTimings(task, task.period);
+        }
+        return task.timings;
+    }
+
     /**
      * Actually run the runnable that will begin the task
      *
+     * @param task The task the runnable belongs to
      * @param runnable The runnable to run
+     * @return False if the runnable was rejected and will not run
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract boolean executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
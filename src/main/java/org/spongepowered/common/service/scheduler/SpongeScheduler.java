@@ -29,13 +29,14 @@
 
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.service.scheduler.SchedulerService;
 import org.spongepowered.api.service.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -166,6 +167,29 @@ void submit(ScheduledTask task) {
         getDelegate(task).addTask(task);
     }
 
+    void cancel(ScheduledTask task) {
+        getDelegate(task).cancelTask(task);
+    }
+
+    /**
+     * Gets the lag and run time metrics of the tasks of each plugin.
+     *
+     * @param async Whether to get the metrics of asynchronous tasks
+     * @return The metrics by plugin
+     */
+    public Map<PluginContainer, TaskMetrics> getTaskMetrics(boolean async) {
+        return Collections.unmodifiableMap(async ? this.asyncScheduler.getMetrics() : this.syncScheduler.getMetrics());
+    }
+
+    public AsyncTaskExecutor getAsyncTaskExecutor() {
+        return this.asyncScheduler.getTaskExecutor();
+    }
+
+    public void resetTaskMetrics() {
+        this.asyncScheduler.getMetrics().values().forEach(TaskMetrics::reset);
+        this.syncScheduler.getMetrics().values().forEach(TaskMetrics::reset);
+    }
+
     /**
      * Ticks the synchronous scheduler.
      */
@@ -177,7 +201,7 @@ public void tickSyncScheduler() {
 
     public ListeningExecutorService getListeningExecService() {
         if (this.listeningExec == null) {
-            this.listeningExec = MoreExecutors.listeningDecorator(this.asyncScheduler.getExecutor());
+            this.listeningExec = this.asyncScheduler.getTaskExecutor().getInternalExecutor();
         }
         return this.listeningExec;
     }
@@ -43,27 +43,26 @@ void tick() {
 
     @Override
     protected long getTimestamp(ScheduledTask task) {
+        if (isTickBased(task)) {
+            return this.counter;
+        }
+        return super.getTimestamp(task);
+    }
+
+    @Override
+    protected boolean isTickBased(ScheduledTask task) {
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
             // The timestamp is based on the initial offset
-            if (task.delayIsTicks) {
-                return this.counter;
-            } else {
-                return super.getTimestamp(task);
-            }
-        } else if (task.getState().isActive) {
-            // The timestamp is based on the period
-            if (task.intervalIsTicks) {
-                return this.counter;
-            } else {
-                return super.getTimestamp(task);
-            }
+            return task.delayIsTicks;
         }
-        return 0L;
+        // The timestamp is based on the period
+        return task.intervalIsTicks;
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
+        return true;
     }
 
 }
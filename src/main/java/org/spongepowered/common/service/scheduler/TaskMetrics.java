@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the lag and run time of all tasks owned by a single plugin.
+ *
+ * <p>The lag of a task is the time between the moment it was due and the
+ * moment it actually started to run.</p>
+ */
+public final class TaskMetrics {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0L);
+    private final LongAdder totalRunTime = new LongAdder();
+    private final LongAccumulator maxRunTime = new LongAccumulator(Math::max, 0L);
+
+    TaskMetrics() {
+    }
+
+    void record(long lagMillis, long runTimeNanos) {
+        this.executions.increment();
+        this.totalLag.add(lagMillis);
+        this.maxLag.accumulate(lagMillis);
+        this.totalRunTime.add(runTimeNanos);
+        this.maxRunTime.accumulate(runTimeNanos);
+    }
+
+    public long getExecutions() {
+        return this.executions.sum();
+    }
+
+    /**
+     * Gets the total lag of all executions in milliseconds.
+     *
+     * @return The total lag
+     */
+    public long getTotalLag() {
+        return this.totalLag.sum();
+    }
+
+    public long getMaxLag() {
+        return this.maxLag.get();
+    }
+
+    /**
+     * Gets the total run time of all executions in milliseconds.
+     *
+     * @return The total run time
+     */
+    public long getTotalRunTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.totalRunTime.sum());
+    }
+
+    public long getMaxRunTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxRunTime.get());
+    }
+
+    void reset() {
+        this.executions.reset();
+        this.totalLag.reset();
+        this.maxLag.reset();
+        this.totalRunTime.reset();
+        this.maxRunTime.reset();
+    }
+
+}
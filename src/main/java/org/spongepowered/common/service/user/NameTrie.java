@@ -0,0 +1,196 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A prefix tree of user names, ignoring case.
+ *
+ * <p>Each node keeps its children in a sorted char array, so a prefix is
+ * found in a few binary searches over at most 37 characters per level,
+ * and the matching users are collected by walking only the subtree below
+ * it. Several users may share a name, when a name has been given up and
+ * taken again.</p>
+ */
+final class NameTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final UUID[] NO_IDS = new UUID[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    synchronized int size() {
+        return this.size;
+    }
+
+    synchronized void put(String name, UUID uniqueId) {
+        name = name.toLowerCase(Locale.ROOT);
+        Node node = this.root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getOrCreateChild(name.charAt(i));
+        }
+        for (UUID id : node.ids) {
+            if (id.equals(uniqueId)) {
+                return;
+            }
+        }
+        node.ids = Arrays.copyOf(node.ids, node.ids.length + 1);
+        node.ids[node.ids.length - 1] = uniqueId;
+        this.size++;
+    }
+
+    synchronized void remove(String name, UUID uniqueId) {
+        name = name.toLowerCase(Locale.ROOT);
+        final Node[] path = new Node[name.length() + 1];
+        path[0] = this.root;
+        for (int i = 0; i < name.length(); i++) {
+            path[i + 1] = path[i].getChild(name.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        final Node node = path[name.length()];
+        int index = -1;
+        for (int i = 0; i < node.ids.length; i++) {
+            if (node.ids[i].equals(uniqueId)) {
+                index = i;
+                break;
+            }
+        }
+        if (index == -1) {
+            return;
+        }
+        final UUID[] ids = new UUID[node.ids.length - 1];
+        System.arraycopy(node.ids, 0, ids, 0, index);
+        System.arraycopy(node.ids, index + 1, ids, index, ids.length - index);
+        node.ids = ids.length == 0 ? NO_IDS : ids;
+        this.size--;
+
+        // Prune the nodes that no longer lead to any name
+        for (int i = name.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(name.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Passes the unique id of every user whose name starts with the given
+     * prefix to the consumer.
+     *
+     * @param prefix The prefix, in any case
+     * @param consumer The consumer of the matching ids
+     */
+    synchronized void forEachWithPrefix(String prefix, Consumer<UUID> consumer) {
+        prefix = prefix.toLowerCase(Locale.ROOT);
+        Node node = this.root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.getChild(prefix.charAt(i));
+        }
+        if (node == null) {
+            return;
+        }
+        final Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(node);
+        while (!nodes.isEmpty()) {
+            node = nodes.pop();
+            for (UUID id : node.ids) {
+                consumer.accept(id);
+            }
+            for (Node child : node.children) {
+                nodes.push(child);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        UUID[] ids = NO_IDS;
+
+        boolean isEmpty() {
+            return this.ids.length == 0 && this.children.length == 0;
+        }
+
+        @Nullable
+        Node getChild(char key) {
+            final int index = Arrays.binarySearch(this.keys, key);
+            return index >= 0 ? this.children[index] : null;
+        }
+
+        Node getOrCreateChild(char key) {
+            int index = Arrays.binarySearch(this.keys, key);
+            if (index >= 0) {
+                return this.children[index];
+            }
+            index = -index - 1;
+            final int length = this.keys.length;
+            final char[] keys = new char[length + 1];
+            final Node[] children = new Node[length + 1];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.children, 0, children, 0, index);
+            System.arraycopy(this.keys, index, keys, index + 1, length - index);
+            System.arraycopy(this.children, index, children, index + 1, length - index);
+            final Node child = new Node();
+            keys[index] = key;
+            children[index] = child;
+            this.keys = keys;
+            this.children = children;
+            return child;
+        }
+
+        void removeChild(char key) {
+            final int index = Arrays.binarySearch(this.keys, key);
+            if (index < 0) {
+                return;
+            }
+            final int length = this.keys.length - 1;
+            if (length == 0) {
+                this.keys = NO_KEYS;
+                this.children = NO_CHILDREN;
+                return;
+            }
+            final char[] keys = new char[length];
+            final Node[] children = new Node[length];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.children, 0, children, 0, index);
+            System.arraycopy(this.keys, index + 1, keys, index, length - index);
+            System.arraycopy(this.children, index + 1, children, index, length - index);
+            this.keys = keys;
+            this.children = children;
+        }
+
+    }
+
+}
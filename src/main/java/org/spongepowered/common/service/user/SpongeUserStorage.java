@@ -27,15 +27,14 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.Sets;
 import org.spongepowered.api.GameProfile;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.user.UserStorage;
 
 import java.util.Collection;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class SpongeUserStorage implements UserStorage {
 
@@ -46,6 +45,18 @@ public Optional<User> get(UUID uniqueId) {
         return Optional.ofNullable(UserDiscoverer.findByUuid(checkNotNull(uniqueId, "uniqueId")));
     }
 
+    /**
+     * Gets the data of a user like {@link #get(UUID)}, reading the player
+     * data file of offline users off the main thread. Must be called from
+     * the main thread.
+     *
+     * @param uniqueId The UUID of the user
+     * @return The future user data
+     */
+    public CompletableFuture<Optional<User>> getAsync(UUID uniqueId) {
+        return UserDiscoverer.findByUuidAsync(checkNotNull(uniqueId, "uniqueId")).thenApply(Optional::ofNullable);
+    }
+
     @Override
     public Optional<User> get(String lastKnownName) {
         checkNotNull(lastKnownName, "lastKnownName");
@@ -69,6 +80,8 @@ public User getOrCreate(GameProfile profile) {
 
         Optional<User> user = get(profile);
         if (user.isPresent()) {
+            // Called when a player logs in, the name may have changed
+            UserDiscoverer.updateProfile((com.mojang.authlib.GameProfile) profile);
             return user.get();
         }
         return UserDiscoverer.create((com.mojang.authlib.GameProfile) profile);
@@ -91,15 +104,7 @@ public boolean delete(User user) {
 
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
-        lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
-        Collection<GameProfile> matching = Sets.newHashSet();
-        for (GameProfile profile : allProfiles) {
-            if (profile.getName().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+        return UserDiscoverer.match(checkNotNull(lastKnownName, "lastKnownName"));
     }
 
 }
@@ -24,42 +24,61 @@
  */
 package org.spongepowered.common.service.user;
 
-import com.google.common.collect.Maps;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.BanEntry;
-import net.minecraft.server.management.PlayerProfileCache;
 import net.minecraft.server.management.ServerConfigurationManager;
 import net.minecraft.server.management.UserListBans;
 import net.minecraft.server.management.UserListBansEntry;
 import net.minecraft.server.management.UserListWhitelist;
 import net.minecraft.server.management.UserListWhitelistEntry;
-import net.minecraft.world.storage.SaveHandler;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.util.SpongeHooks;
-import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 class UserDiscoverer {
 
-    private static final Map<UUID, User> userCache = Maps.newHashMap();
+    private static final int USER_CACHE_SIZE = 10000;
+    private static final int USER_CACHE_EXPIRY_MINUTES = 30;
+
+    // Online players keep their own user object, so evicting a user only
+    // drops offline data which can be read again
+    private static final Cache<UUID, User> userCache = CacheBuilder.newBuilder()
+            .maximumSize(USER_CACHE_SIZE)
+            .expireAfterAccess(USER_CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private static final ExecutorService userLoader = Executors.newFixedThreadPool(2, new ThreadFactoryBuilder()
+            .setNameFormat("Sponge User Loader - %d")
+            .setDaemon(true)
+            .build());
 
     static User create(GameProfile profile) {
         User user = (User) new SpongeUser(profile);
         userCache.put(profile.getId(), user);
+        UserIndex.get().add(profile);
         return user;
     }
 
@@ -73,7 +92,7 @@ static User create(GameProfile profile) {
      * @return The user data, or null if not found
      */
     static User findByUuid(UUID uniqueId) {
-        User user = userCache.get(uniqueId);
+        User user = userCache.getIfPresent(uniqueId);
         if (user != null) {
             return user;
         }
@@ -93,32 +112,72 @@ static User findByUuid(UUID uniqueId) {
         return user;
     }
 
+    /**
+     * Searches for user data like {@link #findByUuid(UUID)}, but reads the
+     * player data file off the main thread. Users that are cached, online or
+     * only known from the white- or banlist are completed immediately.
+     *
+     * <p>Must be called from the main thread.</p>
+     *
+     * @param uniqueId The user's UUID
+     * @return The future user data, completed with null if not found
+     */
+    static CompletableFuture<User> findByUuidAsync(UUID uniqueId) {
+        User user = userCache.getIfPresent(uniqueId);
+        if (user == null) {
+            user = getOnlinePlayer(uniqueId);
+        }
+        if (user != null) {
+            return CompletableFuture.completedFuture(user);
+        }
+        final File dataFile = UserIndex.get().getDataFile(uniqueId);
+        final GameProfile profile = dataFile == null ? null : getProfile(uniqueId);
+        if (profile != null) {
+            return CompletableFuture.supplyAsync(() -> loadStoredData(profile, dataFile), userLoader);
+        }
+        return CompletableFuture.completedFuture(findInLists(uniqueId));
+    }
+
+    @Nullable
+    private static User findInLists(UUID uniqueId) {
+        final User user = getFromWhitelist(uniqueId);
+        if (user != null) {
+            return user;
+        }
+        return getFromBanlist(uniqueId);
+    }
+
     static User findByUsername(String username) {
-        PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
-        HashSet<String> names = Sets.newHashSet(cache.getUsernames());
-        if (names.contains(username.toLowerCase(Locale.ROOT))) {
-            GameProfile profile = cache.getGameProfileForUsername(username);
-            if (profile != null) {
-                return findByUuid(profile.getId());
-            }
+        // Only known names are looked up, the profile cache would otherwise ask Mojang
+        UUID uniqueId = UserIndex.get().getUniqueId(username);
+        if (uniqueId != null) {
+            return findByUuid(uniqueId);
         }
         return null;
     }
 
+    static void updateProfile(GameProfile profile) {
+        UserIndex.get().add(profile);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Collection<org.spongepowered.api.GameProfile> match(String lastKnownName) {
+        return (Collection<org.spongepowered.api.GameProfile>) (Collection<?>) UserIndex.get().match(lastKnownName);
+    }
+
     @SuppressWarnings("unchecked")
     static Collection<org.spongepowered.api.GameProfile> getAllProfiles() {
         Set<org.spongepowered.api.GameProfile> profiles = Sets.newHashSet();
 
         // Add all cached profiles
-        for (User user : userCache.values()) {
+        for (User user : userCache.asMap().values()) {
             profiles.add(user.getProfile());
         }
 
         // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(UUID.fromString(playerUuid));
+        UserIndex index = UserIndex.get();
+        for (UUID uniqueId : index.getDataFileOwners()) {
+            GameProfile profile = getProfile(uniqueId);
             if (profile != null) {
                 profiles.add((org.spongepowered.api.GameProfile) profile);
             }
@@ -148,6 +207,10 @@ static boolean delete(UUID uniqueId) {
         boolean success = deleteStoredPlayerData(uniqueId);
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
+        if (success) {
+            userCache.invalidate(uniqueId);
+            UserIndex.get().remove(uniqueId);
+        }
         return success;
     }
 
@@ -172,20 +235,51 @@ private static User getFromStoredData(UUID uniqueId) {
         if (dataFile == null) {
             return null;
         }
-        GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId);
+        GameProfile profile = getProfile(uniqueId);
         if (profile != null) {
-            User user = create(profile);
-            try {
-                ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
-            } catch (IOException e) {
-                SpongeHooks.logWarning("Corrupt user file {}. {}", dataFile, e);
-            }
-            return user;
+            return loadStoredData(profile, dataFile);
         } else {
             return null;
         }
     }
 
+    @Nullable
+    private static GameProfile getProfile(UUID uniqueId) {
+        String name = UserIndex.get().getName(uniqueId);
+        if (name != null) {
+            return new GameProfile(uniqueId, name);
+        }
+        return MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId);
+    }
+
+    /**
+     * Reads a user from its player data file. Safe to call from any thread,
+     * concurrent loads of the same user share a single read.
+     *
+     * @param profile The profile of the user
+     * @param dataFile The player data file
+     * @return The user, or null if the data file no longer exists
+     */
+    @Nullable
+    private static User loadStoredData(GameProfile profile, File dataFile) {
+        try {
+            return userCache.get(profile.getId(), () -> {
+                SpongeUser user = new SpongeUser(profile);
+                try {
+                    user.readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
+                } catch (FileNotFoundException e) {
+                    UserIndex.get().removeDataFile(profile.getId());
+                    throw e;
+                } catch (IOException e) {
+                    SpongeHooks.logWarning("Corrupt user file {}. {}", dataFile, e);
+                }
+                return (User) user;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            return null;
+        }
+    }
+
     private static User getFromWhitelist(UUID uniqueId) {
         GameProfile profile = null;
         UserListWhitelist whiteList = MinecraftServer.getServer().getConfigurationManager().getWhitelistedPlayers();
@@ -214,20 +308,14 @@ private static User getFromBanlist(UUID uniqueId) {
 
     private static File getPlayerDataFile(UUID uniqueId) {
         // Note: Uses the overworld's player data
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            if (uniqueId.toString().equals(playerUuid)) {
-                return new File(saveHandler.playersDirectory, playerUuid + ".dat");
-            }
-        }
-        return null;
+        return UserIndex.get().getDataFile(uniqueId);
     }
 
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
         File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
+                UserIndex.get().removeDataFile(uniqueId);
                 return dataFile.delete();
             } catch (SecurityException e) {
                 SpongeHooks.logWarning("Unable to delete file {} due to a security error. {}", dataFile, e);
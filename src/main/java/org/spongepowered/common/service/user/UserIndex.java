@@ -0,0 +1,348 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.management.BanEntry;
+import net.minecraft.server.management.PlayerProfileCache;
+import net.minecraft.server.management.ServerConfigurationManager;
+import net.minecraft.server.management.UserListBansEntry;
+import net.minecraft.server.management.UserListWhitelistEntry;
+import net.minecraft.world.storage.SaveHandler;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.world.DimensionManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of every user known to the server, kept for the overworld's
+ * save.
+ *
+ * <p>The index maps unique ids to the last known name and back, and knows
+ * which users have a player data file, so looking up a user never has to
+ * list the playerdata directory. Names are also kept in a {@link NameTrie}
+ * to answer prefix matches. Names are stored in
+ * {@value #FILE_NAME} next to the level data, as the vanilla user cache
+ * only remembers the most recently seen profiles.</p>
+ */
+public final class UserIndex {
+
+    private static final String FILE_NAME = "sponge_users.dat";
+    private static final String USERS_TAG = "Users";
+    private static final String NAME_TAG = "Name";
+    // Data files can also appear from outside, so a missing file is only remembered for a while
+    private static final int MISSING_DATA_FILES_SIZE = 10000;
+    private static final long MISSING_DATA_FILES_EXPIRY_SECONDS = 30;
+
+    @Nullable private static volatile UserIndex instance;
+
+    private final SaveHandler saveHandler;
+    private final ConcurrentMap<UUID, String> names = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UUID> ids = new ConcurrentHashMap<>();
+    private final NameTrie prefixes = new NameTrie();
+    private final Set<UUID> dataFiles = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Cache<UUID, Boolean> missingDataFiles = CacheBuilder.newBuilder()
+            .maximumSize(MISSING_DATA_FILES_SIZE)
+            .expireAfterWrite(MISSING_DATA_FILES_EXPIRY_SECONDS, TimeUnit.SECONDS)
+            .build();
+    private volatile boolean dirty;
+
+    private UserIndex(SaveHandler saveHandler) {
+        this.saveHandler = saveHandler;
+    }
+
+    /**
+     * Gets the index of the current overworld save, loading it on first use.
+     * The first call has to happen on the main thread, as the vanilla user
+     * cache is consulted.
+     *
+     * @return The index
+     */
+    static UserIndex get() {
+        final SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
+        UserIndex index = instance;
+        if (index == null || index.saveHandler != saveHandler) {
+            synchronized (UserIndex.class) {
+                index = instance;
+                if (index == null || index.saveHandler != saveHandler) {
+                    index = new UserIndex(saveHandler);
+                    index.load();
+                    instance = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Records a profile that was added to the white- or banlist. Lists
+     * changed before the index is loaded are read when loading it.
+     *
+     * @param profile The listed profile
+     */
+    public static void addListed(GameProfile profile) {
+        final UserIndex index = instance;
+        if (index != null) {
+            index.add(profile);
+        }
+    }
+
+    /**
+     * Records that the player data file of a user was written.
+     *
+     * @param saveHandler The save handler the file was written by
+     * @param uniqueId The unique id of the user
+     */
+    public static void onDataFileWritten(SaveHandler saveHandler, UUID uniqueId) {
+        final UserIndex index = instance;
+        if (index != null && index.saveHandler == saveHandler) {
+            index.dataFiles.add(uniqueId);
+            index.missingDataFiles.invalidate(uniqueId);
+        }
+    }
+
+    /**
+     * Writes the index if it belongs to the given save and has changed since
+     * it was last written.
+     *
+     * @param saveHandler The save handler of the world being saved
+     */
+    public static void save(SaveHandler saveHandler) {
+        final UserIndex index = instance;
+        if (index != null && index.saveHandler == saveHandler && index.dirty) {
+            index.write();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        final File file = new File(this.saveHandler.getWorldDirectory(), FILE_NAME);
+        if (file.exists()) {
+            try {
+                final NBTTagCompound compound = CompressedStreamTools.readCompressed(new FileInputStream(file));
+                final NBTTagList list = compound.getTagList(USERS_TAG, NbtDataUtil.TAG_COMPOUND);
+                for (int i = 0; i < list.tagCount(); i++) {
+                    final NBTTagCompound entry = list.getCompoundTagAt(i);
+                    putName(new UUID(entry.getLong(NbtDataUtil.UUID_MOST), entry.getLong(NbtDataUtil.UUID_LEAST)), entry.getString(NAME_TAG));
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Unable to read the user index {}, it will be rebuilt", file, e);
+            }
+        }
+
+        // The data files are listed once, later changes are tracked by the index
+        for (String playerUuid : this.saveHandler.getAvailablePlayerDat()) {
+            try {
+                this.dataFiles.add(UUID.fromString(playerUuid));
+            } catch (IllegalArgumentException e) {
+                // Not a player data file
+            }
+        }
+
+        final PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
+        for (String username : cache.getUsernames()) {
+            final GameProfile profile = cache.getGameProfileForUsername(username);
+            if (profile != null) {
+                add(profile);
+            }
+        }
+        for (UUID uniqueId : this.dataFiles) {
+            if (!this.names.containsKey(uniqueId)) {
+                final GameProfile profile = cache.getProfileByUUID(uniqueId);
+                if (profile != null) {
+                    add(profile);
+                }
+            }
+        }
+
+        final ServerConfigurationManager confMgr = MinecraftServer.getServer().getConfigurationManager();
+        for (UserListWhitelistEntry entry : (Collection<UserListWhitelistEntry>) confMgr.getWhitelistedPlayers().getValues().values()) {
+            add((GameProfile) entry.value);
+        }
+        for (BanEntry entry : (Collection<BanEntry>) confMgr.getBannedPlayers().getValues().values()) {
+            if (entry instanceof UserListBansEntry) {
+                add((GameProfile) entry.value);
+            }
+        }
+    }
+
+    private void write() {
+        final NBTTagList list = new NBTTagList();
+        for (Map.Entry<UUID, String> entry : this.names.entrySet()) {
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setLong(NbtDataUtil.UUID_MOST, entry.getKey().getMostSignificantBits());
+            compound.setLong(NbtDataUtil.UUID_LEAST, entry.getKey().getLeastSignificantBits());
+            compound.setString(NAME_TAG, entry.getValue());
+            list.appendTag(compound);
+        }
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag(USERS_TAG, list);
+        this.dirty = false;
+
+        final File directory = this.saveHandler.getWorldDirectory();
+        final File newFile = new File(directory, FILE_NAME + "_new");
+        final File file = new File(directory, FILE_NAME);
+        try {
+            CompressedStreamTools.writeCompressed(compound, new FileOutputStream(newFile));
+            if (file.exists()) {
+                file.delete();
+            }
+            newFile.renameTo(file);
+        } catch (IOException e) {
+            this.dirty = true;
+            SpongeImpl.getLogger().warn("Unable to write the user index {}", file, e);
+        }
+    }
+
+    /**
+     * Records the name of a user, replacing any previous name.
+     *
+     * @param profile The profile of the user
+     */
+    void add(GameProfile profile) {
+        if (profile.getId() != null && profile.getName() != null && !profile.getName().isEmpty()) {
+            putName(profile.getId(), profile.getName());
+        }
+    }
+
+    // Synchronized so the name maps and the trie are updated together
+    private synchronized void putName(UUID uniqueId, String name) {
+        final String previous = this.names.put(uniqueId, name);
+        if (name.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            this.ids.remove(previous.toLowerCase(Locale.ROOT), uniqueId);
+            this.prefixes.remove(previous, uniqueId);
+        }
+        this.ids.put(name.toLowerCase(Locale.ROOT), uniqueId);
+        this.prefixes.put(name, uniqueId);
+        this.dirty = true;
+    }
+
+    synchronized void remove(UUID uniqueId) {
+        final String name = this.names.remove(uniqueId);
+        if (name != null) {
+            this.ids.remove(name.toLowerCase(Locale.ROOT), uniqueId);
+            this.prefixes.remove(name, uniqueId);
+            this.dirty = true;
+        }
+        this.dataFiles.remove(uniqueId);
+    }
+
+    @Nullable
+    String getName(UUID uniqueId) {
+        return this.names.get(uniqueId);
+    }
+
+    @Nullable
+    UUID getUniqueId(String name) {
+        return this.ids.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the profiles of all known users whose name starts with the given
+     * prefix, ignoring case.
+     *
+     * @param prefix The name prefix
+     * @return The matching profiles
+     */
+    List<GameProfile> match(String prefix) {
+        final List<GameProfile> profiles = Lists.newArrayList();
+        this.prefixes.forEachWithPrefix(prefix, uniqueId -> {
+            final String name = this.names.get(uniqueId);
+            if (name != null) {
+                profiles.add(new GameProfile(uniqueId, name));
+            }
+        });
+        return profiles;
+    }
+
+    /**
+     * Gets the names of all known users.
+     *
+     * @return An unmodifiable view of the names by unique id
+     */
+    Map<UUID, String> getNames() {
+        return Collections.unmodifiableMap(this.names);
+    }
+
+    Set<UUID> getDataFileOwners() {
+        return Collections.unmodifiableSet(this.dataFiles);
+    }
+
+    /**
+     * Gets the player data file of a user. Files created after the index was
+     * loaded are picked up with a single file check, users without a file
+     * are remembered for a short while.
+     *
+     * @param uniqueId The unique id of the user
+     * @return The data file, or null if the user has none
+     */
+    @Nullable
+    File getDataFile(UUID uniqueId) {
+        final File file = new File(this.saveHandler.playersDirectory, uniqueId.toString() + ".dat");
+        if (this.dataFiles.contains(uniqueId)) {
+            return file;
+        }
+        if (this.missingDataFiles.getIfPresent(uniqueId) != null) {
+            return null;
+        }
+        if (file.exists()) {
+            this.dataFiles.add(uniqueId);
+            return file;
+        }
+        this.missingDataFiles.put(uniqueId, Boolean.TRUE);
+        return null;
+    }
+
+    void removeDataFile(UUID uniqueId) {
+        this.dataFiles.remove(uniqueId);
+    }
+
+}
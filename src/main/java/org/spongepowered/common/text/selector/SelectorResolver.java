@@ -31,6 +31,7 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
 import org.spongepowered.api.data.manipulator.mutable.entity.GameModeData;
@@ -66,11 +67,15 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -117,6 +122,8 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
+    // The area the selector is limited to, if it is limited on both horizontal axes
+    @Nullable private SelectorSearchArea searchArea;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
@@ -138,6 +145,35 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.selector = checkNotNull(selector);
         this.selectorFilter = makeFilter();
         this.alwaysUsePosition = force;
+        initSearchArea();
+    }
+
+    private void initSearchArea() {
+        final Selector sel = this.selector;
+        double[] position = getPositionOrDefault(this.position, ArgumentTypes.POSITION).toArray();
+        double[] min = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] max = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            int radius = Math.abs(radiusMax.get());
+            for (int axis = 0; axis < 3; axis++) {
+                min[axis] = position[axis] - radius;
+                max[axis] = position[axis] + radius;
+            }
+        }
+        double[] boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION).toArray();
+        boolean[] dimensions = {sel.has(ArgumentTypes.DIMENSION.x()), sel.has(ArgumentTypes.DIMENSION.y()), sel.has(ArgumentTypes.DIMENSION.z())};
+        for (int axis = 0; axis < 3; axis++) {
+            if (dimensions[axis]) {
+                double corner = position[axis] + boxDimensions[axis];
+                min[axis] = Math.max(min[axis], Math.min(position[axis], corner));
+                max[axis] = Math.min(max[axis], Math.max(position[axis], corner));
+            }
+        }
+        // Only worth it if the chunks to look at can be enumerated
+        if (!Double.isInfinite(min[0]) && !Double.isInfinite(max[0]) && !Double.isInfinite(min[2]) && !Double.isInfinite(max[2])) {
+            this.searchArea = new SelectorSearchArea(new Vector3d(min[0], min[1], min[2]), new Vector3d(max[0], max[1], max[2]));
+        }
     }
 
     private Predicate<Entity> makeFilter() {
@@ -358,30 +394,123 @@ public Set<Entity> resolve() {
         if (INFINITE_TYPES.contains(selectorType)) {
             defaultCount = 0;
         }
-        int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
+        final int maxToSelect = Math.abs(this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount));
         Set<? extends Extent> extents = getExtentSet();
-        int count = 0;
-        ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
+        if (selectorType == SelectorTypes.RANDOM) {
+            return selectRandom(extents, maxToSelect);
+        }
+
+        final ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
+        final int[] count = {0};
+        for (Extent extent : extents) {
+            boolean complete = visitCandidates(extent, entity -> {
+                if (this.selectorFilter.test(entity)) {
+                    entities.add(entity);
+                    count[0]++;
+                }
+                return maxToSelect == 0 || count[0] < maxToSelect;
+            });
+            if (!complete) {
+                break;
+            }
+        }
+        return entities.build();
+    }
+
+    private Set<Entity> selectRandom(Set<? extends Extent> extents, int maxToSelect) {
+        final Random random = ThreadLocalRandom.current();
+        final List<Entity> selected = new ArrayList<>();
+        final int[] matched = {0};
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
+            visitCandidates(extent, entity -> {
+                if (this.selectorFilter.test(entity)) {
+                    matched[0]++;
+                    if (maxToSelect == 0 || selected.size() < maxToSelect) {
+                        selected.add(entity);
+                    } else {
+                        // Reservoir sampling, every match ends up selected with the same chance
+                        int index = random.nextInt(matched[0]);
+                        if (index < maxToSelect) {
+                            selected.set(index, entity);
+                        }
+                    }
+                }
+                return true;
+            });
+        }
+        Collections.shuffle(selected, random);
+        return ImmutableSet.copyOf(selected);
+    }
+
+    /**
+     * Passes the entities of the extent that may match the selector to the
+     * visitor, only looking at the chunks around the selected area if the
+     * selector limits it.
+     *
+     * @param extent The extent to search
+     * @param visitor Returns false to stop the search
+     * @return False if the visitor stopped the search
+     */
+    @SuppressWarnings("unchecked")
+    private boolean visitCandidates(Extent extent, Predicate<Entity> visitor) {
+        if (extent instanceof net.minecraft.world.World) {
+            net.minecraft.world.World world = (net.minecraft.world.World) extent;
+            if (this.searchArea != null) {
+                final SearchResult result = visitNearbyEntities(world, visitor);
+                if (result != SearchResult.UNBOUNDED) {
+                    return result == SearchResult.COMPLETE;
+                }
+            }
+            // Iterated directly, getEntities would copy the list first
+            for (Entity entity : (List<Entity>) (List<?>) world.loadedEntityList) {
+                if (!visitor.test(entity)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Entity entity : extent.getEntities()) {
+            if (!visitor.test(entity)) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            for (Entity e : allEntities) {
-                if (!this.selectorFilter.test(e)) {
+    /**
+     * Visits the entities in the chunks overlapping the search area.
+     *
+     * @return Whether the chunks were searched, or {@link SearchResult#UNBOUNDED}
+     *         if the area covers more chunks than are loaded and the entity
+     *         list should be used instead
+     */
+    private SearchResult visitNearbyEntities(net.minecraft.world.World world, Predicate<Entity> visitor) {
+        final SelectorSearchArea area = this.searchArea;
+        if (area.getChunkCount() > world.getChunkProvider().getLoadedChunkCount()) {
+            return SearchResult.UNBOUNDED;
+        }
+        for (int chunkX = area.minChunkX; chunkX <= area.maxChunkX; chunkX++) {
+            for (int chunkZ = area.minChunkZ; chunkZ <= area.maxChunkZ; chunkZ++) {
+                if (!world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
                     continue;
                 }
-                entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                ClassInheritanceMultiMap[] entityLists = world.getChunkFromChunkCoords(chunkX, chunkZ).getEntityLists();
+                for (int section = area.minSection; section <= area.maxSection; section++) {
+                    for (Object entity : entityLists[section]) {
+                        if (!visitor.test((Entity) entity)) {
+                            return SearchResult.STOPPED;
+                        }
+                    }
                 }
             }
         }
-        return entities.build();
+        return SearchResult.COMPLETE;
+    }
+
+    private enum SearchResult {
+        COMPLETE,
+        STOPPED,
+        UNBOUNDED
     }
 
     private Set<? extends Extent> getExtentSet() {
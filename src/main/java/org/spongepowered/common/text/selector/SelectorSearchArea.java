@@ -0,0 +1,78 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector3d;
+
+/**
+ * The chunks and chunk sections a selector limited to an area has to look
+ * at. Only the horizontal axes have to be bounded, an unbounded height
+ * covers every section.
+ */
+final class SelectorSearchArea {
+
+    // Entities are stored in the chunk of their position, leave some room for rounding
+    private static final double MARGIN = 2.0;
+    private static final int MAX_SECTION = 15;
+
+    final int minChunkX;
+    final int maxChunkX;
+    final int minChunkZ;
+    final int maxChunkZ;
+    final int minSection;
+    final int maxSection;
+
+    SelectorSearchArea(Vector3d min, Vector3d max) {
+        this.minChunkX = GenericMath.floor(min.getX() - MARGIN) >> 4;
+        this.maxChunkX = GenericMath.floor(max.getX() + MARGIN) >> 4;
+        this.minChunkZ = GenericMath.floor(min.getZ() - MARGIN) >> 4;
+        this.maxChunkZ = GenericMath.floor(max.getZ() + MARGIN) >> 4;
+        this.minSection = toSection(min.getY() - MARGIN);
+        this.maxSection = toSection(max.getY() + MARGIN);
+    }
+
+    /**
+     * Gets the section containing the height, clamped to the sections of a
+     * chunk. Infinite heights map to the bottom or top section.
+     *
+     * @param y The height
+     * @return The section index
+     */
+    static int toSection(double y) {
+        if (!(y >= 0)) {
+            return 0;
+        }
+        if (y >= (MAX_SECTION + 1) << 4) {
+            return MAX_SECTION;
+        }
+        return (int) y >> 4;
+    }
+
+    long getChunkCount() {
+        return (long) (this.maxChunkX - this.minChunkX + 1) * (this.maxChunkZ - this.minChunkZ + 1);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.sink;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.EncoderException;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S02PacketChat;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.common.interfaces.IMixinPacketChat;
+import org.spongepowered.common.interfaces.text.IMixinText;
+import org.spongepowered.common.network.SharedPacketData;
+import org.spongepowered.common.text.SpongeTexts;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Sends the same message to many players at once.
+ *
+ * <p>Players are grouped by their locale. Each group gets a single chat
+ * packet whose component is serialized and encoded only once, every
+ * connection of the group then copies the shared buffer.</p>
+ */
+final class PlayerBroadcast {
+
+    private PlayerBroadcast() {
+    }
+
+    static void send(List<EntityPlayerMP> players, Text message) {
+        final Map<Locale, List<EntityPlayerMP>> groups = new HashMap<>();
+        for (EntityPlayerMP player : players) {
+            // Hidden chat drops the packet before it is encoded, don't count a reference for it
+            if (player.getChatVisibility() != EntityPlayer.EnumChatVisibility.HIDDEN) {
+                groups.computeIfAbsent(((Player) player).getLocale(), locale -> new ArrayList<>()).add(player);
+            }
+        }
+        for (Map.Entry<Locale, List<EntityPlayerMP>> entry : groups.entrySet()) {
+            send(entry.getValue(), message, entry.getKey());
+        }
+    }
+
+    private static void send(List<EntityPlayerMP> players, Text message, Locale locale) {
+        final S02PacketChat packet = new S02PacketChat(SpongeTexts.toComponent(message, locale));
+        if (players.size() > 1) {
+            final ByteBuf component = encode(message, locale);
+            if (component != null) {
+                // One write for every connection, see IMixinPacketChat
+                ((IMixinPacketChat) packet).setEncodedComponent(SharedPacketData.share(component, players.size()));
+            }
+        }
+        for (EntityPlayerMP player : players) {
+            player.playerNetServerHandler.sendPacket(packet);
+        }
+    }
+
+    @Nullable
+    private static ByteBuf encode(Text message, Locale locale) {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            new PacketBuffer(buf).writeString(((IMixinText) message).toJson(locale));
+            return buf;
+        } catch (EncoderException e) {
+            // Too long, leave it to the connections to fail like they did before
+            buf.release();
+            return null;
+        }
+    }
+
+}
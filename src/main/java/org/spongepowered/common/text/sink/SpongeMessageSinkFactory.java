@@ -32,6 +32,7 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.SubjectCollection;
@@ -43,6 +44,7 @@
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.WeakHashMap;
 
@@ -84,14 +86,28 @@ public MessageSink toPermission(String permission) {
         return new PermissionSink(permission);
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<EntityPlayerMP> getPlayers() {
+        return MinecraftServer.getServer().getConfigurationManager().playerEntityList;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Iterable<CommandSource> getPlayerSources() {
+        // A copy, the player list changes while recipients are iterated
+        return ImmutableList.copyOf((List) getPlayers());
+    }
+
     public static final MessageSink TO_ALL = new MessageSink() {
         @Override
         public Iterable<CommandSource> getRecipients() {
             // TODO: Non-player subjects?
-            @SuppressWarnings({"unchecked", "rawtypes"})
-            Set<CommandSource> ret = new HashSet(MinecraftServer.getServer().getConfigurationManager().playerEntityList);
-            ret.add((CommandSource) MinecraftServer.getServer());
-            return ret;
+            return Iterables.concat(getPlayerSources(), Collections.singleton((CommandSource) MinecraftServer.getServer()));
+        }
+
+        @Override
+        public void sendMessage(Text message) {
+            PlayerBroadcast.send(getPlayers(), message);
+            ((CommandSource) MinecraftServer.getServer()).sendMessage(message);
         }
     };
 
@@ -103,9 +119,12 @@ public MessageSink toAll() {
     public static final MessageSink TO_ALL_PLAYERS = new MessageSink() {
         @Override
         public Iterable<CommandSource> getRecipients() {
-            @SuppressWarnings({"unchecked", "rawtypes"})
-            Set<CommandSource> ret = new HashSet(MinecraftServer.getServer().getConfigurationManager().playerEntityList);
-            return ret;
+            return getPlayerSources();
+        }
+
+        @Override
+        public void sendMessage(Text message) {
+            PlayerBroadcast.send(getPlayers(), message);
         }
     };
 
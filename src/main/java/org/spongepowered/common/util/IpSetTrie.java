@@ -0,0 +1,141 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches an address against many named groups of {@link IpSet}s at once.
+ *
+ * <p>The ranges of all groups are stored in one binary trie per address
+ * family, where each range ends at the node its prefix leads to. Matching
+ * an address walks a single path of at most 32 or 128 nodes, no matter how
+ * many ranges are configured. Like {@link IpSet#apply} combined for a
+ * whole group, a group matches if every one of its ranges contains the
+ * address.</p>
+ */
+public final class IpSetTrie {
+
+    private static final int[] NO_GROUPS = new int[0];
+
+    private final String[] names;
+    // The number of distinct ranges in each group, all of which have to match
+    private final int[] rangeCounts;
+    private final Node ipv4 = new Node();
+    private final Node ipv6 = new Node();
+
+    private IpSetTrie(Map<String, ? extends Collection<IpSet>> groups) {
+        this.names = new String[groups.size()];
+        this.rangeCounts = new int[groups.size()];
+        int group = 0;
+        for (Map.Entry<String, ? extends Collection<IpSet>> entry : groups.entrySet()) {
+            this.names[group] = entry.getKey();
+            for (IpSet set : entry.getValue()) {
+                insert(group, set.getAddress().getAddress(), set.getPrefixLength());
+            }
+            group++;
+        }
+    }
+
+    public static IpSetTrie of(Map<String, ? extends Collection<IpSet>> groups) {
+        return new IpSetTrie(checkNotNull(groups, "groups"));
+    }
+
+    private void insert(int group, byte[] address, int prefixLength) {
+        Node node = address.length == 4 ? this.ipv4 : this.ipv6;
+        for (int bit = 0; bit < prefixLength; bit++) {
+            if (isSet(address, bit)) {
+                if (node.one == null) {
+                    node.one = new Node();
+                }
+                node = node.one;
+            } else {
+                if (node.zero == null) {
+                    node.zero = new Node();
+                }
+                node = node.zero;
+            }
+        }
+        // The same range listed twice in a group only has to match once
+        for (int existing : node.groups) {
+            if (existing == group) {
+                return;
+            }
+        }
+        node.groups = Arrays.copyOf(node.groups, node.groups.length + 1);
+        node.groups[node.groups.length - 1] = group;
+        this.rangeCounts[group]++;
+    }
+
+    private static boolean isSet(byte[] address, int bit) {
+        return (address[bit >> 3] & (0x80 >>> (bit & 7))) != 0;
+    }
+
+    /**
+     * Gets the names of all groups containing the address.
+     *
+     * @param address The address to match
+     * @return The names of the matching groups
+     */
+    public Set<String> getMatching(InetAddress address) {
+        final byte[] bytes = checkNotNull(address, "address").getAddress();
+        final int[] matchedRanges = new int[this.names.length];
+        final int bits = bytes.length * 8;
+        Node node = bytes.length == 4 ? this.ipv4 : this.ipv6;
+        for (int bit = 0; node != null; bit++) {
+            for (int group : node.groups) {
+                matchedRanges[group]++;
+            }
+            if (bit == bits) {
+                break;
+            }
+            node = isSet(bytes, bit) ? node.one : node.zero;
+        }
+
+        final Set<String> matching = new HashSet<>();
+        for (int group = 0; group < this.names.length; group++) {
+            if (matchedRanges[group] == this.rangeCounts[group]) {
+                matching.add(this.names[group]);
+            }
+        }
+        return matching;
+    }
+
+    private static final class Node {
+
+        Node zero;
+        Node one;
+        int[] groups = NO_GROUPS;
+
+    }
+
+}
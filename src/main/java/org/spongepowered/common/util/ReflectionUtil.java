@@ -32,6 +32,9 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.ImmutableDataCachingUtil;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
@@ -52,18 +55,45 @@ public final class ReflectionUtil {
 
     private ReflectionUtil() {}
 
-    public static <T> T createUnsafeInstance(final Class<T> objectClass, Object... args)
-            throws IllegalAccessException, InvocationTargetException, InstantiationException {
+    private static final MethodHandle FLATTEN_ARGUMENTS;
+
+    static {
+        try {
+            FLATTEN_ARGUMENTS = MethodHandles.lookup().findStatic(ReflectionUtil.class, "flattenArguments",
+                    MethodType.methodType(Object[].class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Finds the constructor matching the arguments, like
+     * {@link #findConstructor}, and binds it to a handle of the type
+     * {@code (Object[])Object} that can be invoked with arguments of the
+     * same types over and over again. Nested arrays of arguments are
+     * flattened before they are passed on, if that is how the constructor
+     * was matched.
+     *
+     * @param objectClass The class to construct
+     * @param args Sample arguments to find the constructor with
+     * @return The bound constructor
+     * @throws IllegalAccessException If the constructor is not accessible
+     */
+    public static MethodHandle findConstructorHandle(final Class<?> objectClass, Object... args) throws IllegalAccessException {
         if (args == null) {
             args = new Object[] {null};
         }
-        final Constructor<T>tConstructor = findConstructor(objectClass, args);
-        try {
-            return tConstructor.newInstance(args);
-        } catch (Exception e) {
-            final Object[] deconstructedArgs = deconstructArray(args).toArray();
-            return tConstructor.newInstance(deconstructedArgs);
+        final Constructor<?> ctor = findConstructor(objectClass, args);
+        final int parameterCount = ctor.getParameterTypes().length;
+        MethodHandle handle = MethodHandles.publicLookup().unreflectConstructor(ctor).asSpreader(Object[].class, parameterCount);
+        if (parameterCount != args.length) {
+            handle = MethodHandles.filterArguments(handle, 0, FLATTEN_ARGUMENTS);
         }
+        return handle.asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    private static Object[] flattenArguments(Object[] args) {
+        return deconstructArray(args).toArray();
     }
 
     public static <T> T createInstance(final Class<T> objectClass, Object... args) {
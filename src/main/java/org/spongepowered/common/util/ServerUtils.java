@@ -30,7 +30,6 @@
 import com.google.common.base.Throwables;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.MinecraftException;
 import net.minecraft.world.WorldServer;
@@ -42,6 +41,8 @@
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
 import org.spongepowered.common.service.scheduler.SpongeScheduler;
 import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.world.storage.WorldCopyFuture;
+import org.spongepowered.common.world.storage.WorldSnapshot;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -59,73 +60,89 @@ public static ListenableFuture<Optional<WorldProperties>> copyWorld(MinecraftSer
         checkArgument(!WorldPropertyRegistryModule.getInstance().isWorldRegistered(copyName), "Destination world name already is registered");
         WorldInfo info = (WorldInfo) worldProperties;
         WorldServer world = DimensionManager.getWorldFromDimId(((IMixinWorldInfo) info).getDimensionId());
+        WorldCopyFuture future = new WorldCopyFuture();
         if (world != null) {
+            // Saving only has to wait for the flush, region files written
+            // afterwards are copied before they change
+            ((IMixinMinecraftServer) server).setSaveEnabled(false);
             try {
                 world.saveAllChunks(true, null);
+                world.flush();
+                startCopy(info, copyName, future);
             } catch (MinecraftException e) {
                 Throwables.propagate(e);
-            }
-            ((IMixinMinecraftServer) server).setSaveEnabled(false);
-        }
-        ListenableFuture<Optional<WorldProperties>> future = executor.submit(new CopyWorldTask(info, copyName));
-        if (world != null) { // World was loaded
-            future.addListener(() -> {
+            } finally {
                 ((IMixinMinecraftServer) server).setSaveEnabled(true);
-            } , MoreExecutors.sameThreadExecutor());
+            }
+        } else {
+            executor.execute(() -> {
+                try {
+                    startCopy(info, copyName, future);
+                } catch (RuntimeException e) {
+                    future.setException(e);
+                }
+            });
         }
         return future;
     }
 
-    public static ListenableFuture<Boolean> deleteWorld(WorldProperties worldProperties) {
-        checkArgument(WorldPropertyRegistryModule.getInstance().isWorldRegistered(worldProperties.getUniqueId()), "World properties not registered");
-        checkState(DimensionManager.getWorldFromDimId(((IMixinWorldInfo) worldProperties).getDimensionId()) == null, "World not unloaded");
-        return executor.submit(new DeleteWorldTask(worldProperties));
-    }
-
-    private static class CopyWorldTask implements Callable<Optional<WorldProperties>> {
-
-        private final WorldInfo oldInfo;
-        private final String newName;
-
-        public CopyWorldTask(WorldInfo info, String newName) {
-            this.oldInfo = info;
-            this.newName = newName;
+    private static void startCopy(WorldInfo oldInfo, String newName, WorldCopyFuture future) {
+        File rootDir = DimensionManager.getCurrentSaveRootDirectory();
+        if (rootDir == null) {
+            future.set(Optional.empty());
+            return;
         }
+        File oldDir = new File(rootDir, oldInfo.getWorldName());
+        File newDir = new File(rootDir, newName);
 
-        @Override
-        public Optional<WorldProperties> call() throws Exception {
-            File rootDir = DimensionManager.getCurrentSaveRootDirectory();
-            if (rootDir == null) {
-                return Optional.empty();
-            }
-            File oldDir = new File(rootDir, this.oldInfo.getWorldName());
-            File newDir = new File(rootDir, this.newName);
-
-            if (newDir.exists()) {
-                return Optional.empty();
-            }
+        if (newDir.exists()) {
+            future.set(Optional.empty());
+            return;
+        }
 
-            FileFilter filter = null;
-            if (((IMixinWorldInfo) this.oldInfo).getDimensionId() == 0) {
-                oldDir = rootDir;
-                filter = (file) -> !file.isDirectory() || !new File(file, "level.dat").exists();
-            }
-            try {
-                FileUtils.copyDirectory(oldDir, newDir, filter);
-            } catch (IOException e) {
-                return Optional.empty();
+        FileFilter filter = null;
+        if (((IMixinWorldInfo) oldInfo).getDimensionId() == 0) {
+            oldDir = rootDir;
+            filter = (file) -> !file.isDirectory() || !new File(file, "level.dat").exists();
+        }
+        WorldSnapshot snapshot;
+        try {
+            snapshot = WorldSnapshot.create(oldDir, newDir, filter);
+        } catch (IOException e) {
+            future.set(Optional.empty());
+            return;
+        }
+        future.setSnapshot(snapshot);
+        snapshot.copyRegionFiles(executor).whenComplete((copied, throwable) -> {
+            if (throwable != null) {
+                future.setException(throwable);
+            } else if (!copied) {
+                future.set(Optional.empty());
+            } else {
+                try {
+                    future.set(Optional.of(registerCopy(oldInfo, newName)));
+                } catch (RuntimeException e) {
+                    future.setException(e);
+                }
             }
+        });
+    }
 
-            WorldInfo info = new WorldInfo(this.oldInfo);
-            info.setWorldName(this.newName);
-            int dim = DimensionManager.getNextFreeDimId();
-            ((IMixinWorldInfo) info).setDimensionId(dim);
-            ((IMixinWorldInfo) info).setUUID(UUID.randomUUID());
-            WorldPropertyRegistryModule.getInstance().registerWorldProperties((WorldProperties) info);
-            ((IMixinMinecraftServer) MinecraftServer.getServer()).getHandler(this.newName).saveWorldInfo(info);
-            return Optional.of((WorldProperties) info);
-        }
+    private static WorldProperties registerCopy(WorldInfo oldInfo, String newName) {
+        WorldInfo info = new WorldInfo(oldInfo);
+        info.setWorldName(newName);
+        int dim = DimensionManager.getNextFreeDimId();
+        ((IMixinWorldInfo) info).setDimensionId(dim);
+        ((IMixinWorldInfo) info).setUUID(UUID.randomUUID());
+        WorldPropertyRegistryModule.getInstance().registerWorldProperties((WorldProperties) info);
+        ((IMixinMinecraftServer) MinecraftServer.getServer()).getHandler(newName).saveWorldInfo(info);
+        return (WorldProperties) info;
+    }
 
+    public static ListenableFuture<Boolean> deleteWorld(WorldProperties worldProperties) {
+        checkArgument(WorldPropertyRegistryModule.getInstance().isWorldRegistered(worldProperties.getUniqueId()), "World properties not registered");
+        checkState(DimensionManager.getWorldFromDimId(((IMixinWorldInfo) worldProperties).getDimensionId()) == null, "World not unloaded");
+        return executor.submit(new DeleteWorldTask(worldProperties));
     }
 
     private static class DeleteWorldTask implements Callable<Boolean> {
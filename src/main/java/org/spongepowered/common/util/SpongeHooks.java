@@ -53,6 +53,7 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.configuration.EffectiveWorldConfig;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.configuration.SpongeConfig.WorldConfig;
 import org.spongepowered.common.data.util.NbtDataUtil;
@@ -94,7 +95,15 @@ public static void logSevere(String msg, Object... args) {
     }
 
     public static void logStack(SpongeConfig<?> config) {
-        if (config.getConfig().getLogging().logWithStackTraces()) {
+        logStack(config.getConfig().getLogging().logWithStackTraces());
+    }
+
+    public static void logStack(EffectiveWorldConfig config) {
+        logStack(config.logWithStackTraces());
+    }
+
+    private static void logStack(boolean logWithStackTraces) {
+        if (logWithStackTraces) {
             Throwable ex = new Throwable();
             ex.fillInStackTrace();
             ex.printStackTrace();
@@ -106,8 +115,8 @@ public static void logEntityDeath(Entity entity) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDeathLogging()) {
+        EffectiveWorldConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.logEntityDeath()) {
             logInfo("Dim: {0} setDead(): {1}",
                     entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
@@ -119,8 +128,8 @@ public static void logEntityDespawn(Entity entity, String reason) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDespawnLogging()) {
+        EffectiveWorldConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.logEntityDespawn()) {
             logInfo("Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
             logStack(config);
         }
@@ -131,14 +140,14 @@ public static void logEntitySpawn(Cause cause, Entity entity) {
             return;
         }
 
-        String spawnName = entity.getCommandSenderName();
-        if (entity instanceof EntityItem) {
-            spawnName = ((EntityItem) entity).getEntityItem().getDisplayName();
-        }
+        EffectiveWorldConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.logEntitySpawn()) {
+            String spawnName = entity.getCommandSenderName();
+            if (entity instanceof EntityItem) {
+                spawnName = ((EntityItem) entity).getEntityItem().getDisplayName();
+            }
 
-        Optional<User> user = cause.first(User.class);
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entitySpawnLogging()) {
+            Optional<User> user = cause.first(User.class);
             logInfo("SPAWNED " + spawnName + " [RootCause: {0}][User: {1}][World: {2}][DimId: {3}]",
                     getFriendlyCauseName(cause),
                     user.isPresent() ? user.get().getName() : "None",
@@ -153,15 +162,15 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().blockTrackLogging() && allowed) {
+        EffectiveWorldConfig config = getEffectiveConfig(world);
+        if (config.logBlockTrack() && allowed) {
             logInfo("Tracking Block " + "[RootCause: {0}][World: {1}][Block: {2}][Pos: {3}]",
                     user.getName(),
                     world.getWorldInfo().getWorldName() + "(" + world.provider.getDimensionId() + ")",
                     ((BlockType)block).getId(),
                     pos);
             logStack(config);
-        } else if (config.getConfig().getLogging().blockTrackLogging() && !allowed) {
+        } else if (config.logBlockTrack() && !allowed) {
             logInfo("Blacklisted! Unable to track Block " + "[RootCause: {0}][World: {1}][DimId: {2}][Block: {3}][Pos: {4}]",
                     user.getName(),
                     world.getWorldInfo().getWorldName(),
@@ -176,13 +185,12 @@ public static void logBlockAction(Cause cause, World world, CaptureType type, Tr
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        Optional<User> user = cause.first(User.class);
-        if (config.getConfig().getLogging().blockBreakLogging() && type == CaptureType.BREAK
-                || config.getConfig().getLogging().blockModifyLogging() && type == CaptureType.MODIFY
-                || config.getConfig().getLogging().blockPlaceLogging() && type == CaptureType.PLACE
-                || config.getConfig().getLogging().blockPopulateLogging() && type == CaptureType.POPULATE) {
-
+        EffectiveWorldConfig config = getEffectiveConfig(world);
+        if (config.logBlockBreak() && type == CaptureType.BREAK
+                || config.logBlockModify() && type == CaptureType.MODIFY
+                || config.logBlockPlace() && type == CaptureType.PLACE
+                || config.logBlockPopulate() && type == CaptureType.POPULATE) {
+            Optional<User> user = cause.first(User.class);
             logInfo("Block " + type.name() + " [RootCause: {0}][User: {1}][World: {2}][DimId: {3}][OriginalState: {4}][NewState: {5}]",
                     getFriendlyCauseName(cause),
                     user.isPresent() ? user.get().getName() : "None",
@@ -199,8 +207,8 @@ public static void logChunkLoad(World world, Vector3i chunkPos) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkLoadLogging()) {
+        EffectiveWorldConfig config = getEffectiveConfig(world);
+        if (config.logChunkLoad()) {
             logInfo("Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -212,8 +220,8 @@ public static void logChunkUnload(World world, Vector3i chunkPos) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkUnloadLogging()) {
+        EffectiveWorldConfig config = getEffectiveConfig(world);
+        if (config.logChunkUnload()) {
             logInfo("Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -232,12 +240,12 @@ public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
             return false;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
         if (!(entity instanceof EntityLivingBase) || entity instanceof EntityPlayer) {
             return false; // only check living entities that are not players
         }
 
-        int maxBoundingBoxSize = config.getConfig().getEntity().getMaxBoundingBoxSize();
+        EffectiveWorldConfig config = getEffectiveConfig(entity.worldObj);
+        int maxBoundingBoxSize = config.getMaxBoundingBoxSize();
         if (maxBoundingBoxSize <= 0) {
             return false;
         }
@@ -271,12 +279,12 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
             return false;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        int maxSpeed = config.getConfig().getEntity().getMaxSpeed();
+        EffectiveWorldConfig config = getEffectiveConfig(entity.worldObj);
+        int maxSpeed = config.getMaxSpeed();
         if (maxSpeed > 0) {
             double distance = x * x + z * z;
             if (distance > maxSpeed) {
-                if (config.getConfig().getLogging().logEntitySpeedRemoval()) {
+                if (config.logEntitySpeedRemoval()) {
                     logInfo("Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
                     if (entity instanceof EntityLivingBase) {
                         EntityLivingBase livingBase = (EntityLivingBase) entity;
@@ -286,7 +294,7 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
                                 livingBase.moveStrafing, livingBase.moveForward);
                     }
 
-                    if (config.getConfig().getLogging().logWithStackTraces()) {
+                    if (config.logWithStackTraces()) {
                         logInfo("Move offset: ({0}, {1}, {2})", x, y, z);
                         logInfo("Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
                         logInfo("Entity: {0}", entity);
@@ -317,11 +325,11 @@ public static void logEntitySize(Entity entity, List list) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (!config.getConfig().getLogging().logEntityCollisionChecks()) {
+        EffectiveWorldConfig config = getEffectiveConfig(entity.worldObj);
+        if (!config.logEntityCollisionChecks()) {
             return;
         }
-        int collisionWarnSize = config.getConfig().getEntity().getMaxCollisionSize();
+        int collisionWarnSize = config.getMaxCollisionSize();
 
         if (list == null) {
             return;
@@ -392,6 +400,17 @@ public static void enableThreadContentionMonitoring() {
         mbean.setThreadContentionMonitoringEnabled(true);
     }
 
+    /**
+     * Gets the snapshot of the active config of a world, for code that runs
+     * often. Use {@link #getActiveConfig(World)} to change settings.
+     *
+     * @param world The world
+     * @return The effective config
+     */
+    public static EffectiveWorldConfig getEffectiveConfig(World world) {
+        return ((IMixinWorld) world).getEffectiveConfig();
+    }
+
     public static SpongeConfig<?> getActiveConfig(World world) {
         SpongeConfig<WorldConfig> config = ((IMixinWorld) world).getWorldConfig();
         if (config.getConfig().isConfigEnabled()) {
@@ -34,8 +34,8 @@
 import net.minecraft.network.Packet;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.EnumFacing;
-import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+import org.spongepowered.common.entity.TrackedUser;
 import org.spongepowered.common.world.gen.SpongePopulatorType;
 
 import java.util.Arrays;
@@ -52,7 +52,9 @@ public class StaticMixinHelper {
     public static final BlockPos HANGING_NEIGHBOR_OFFSET_NORTH = new BlockPos(0, 1, -1);
     public static final BlockPos HANGING_NEIGHBOR_OFFSET_SOUTH = new BlockPos(0, 1, 1);
     public static EntityPlayerMP packetPlayer = null;
-    public static User blockEventUser = null;
+    // The owner or notifier of the block event being fired, the user is only
+    // loaded when it is needed
+    public static TrackedUser blockEventUser = null;
     public static Packet processingPacket = null;
     public static boolean processingInternalForgeEvent = false;
     // Set before firing an internal Forge BlockBreak event to handle extended blockstate
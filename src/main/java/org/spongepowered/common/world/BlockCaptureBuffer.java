@@ -0,0 +1,260 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.common.block.TileEntityPayload;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * A reusable, column oriented store of the original block states captured
+ * for a single {@link CaptureType} while a tick is being processed.
+ *
+ * <p>Positions are packed with {@link BlockPos#toLong()} and states are
+ * stored by their {@link Block#BLOCK_STATE_IDS} id, so recording a change
+ * only writes a few primitives. The reference columns (actual state, tile
+ * entity data and the materialized snapshot) are sparse and only populated
+ * when needed. {@link BlockSnapshot}s are created lazily by the owning
+ * world once the captures are turned into transactions.</p>
+ *
+ * <p>The backing arrays are kept between ticks; {@link #clear()} only resets
+ * the size, unless a burst of captures grew the buffer past
+ * {@link #MAX_RETAINED_CAPACITY}.</p>
+ */
+public final class BlockCaptureBuffer {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int MAX_RETAINED_CAPACITY = 16384;
+    private static final int REMOVED = 0x80000000;
+
+    private final CaptureType captureType;
+    private int size;
+    private int removed;
+    private long[] positions;
+    private int[] stateIds;
+    private int[] flags;
+    private IBlockState[] rawStates;
+    private IBlockState[] extendedStates;
+    private TileEntityPayload[] tilePayloads;
+    private BlockSnapshot[] snapshots;
+
+    public BlockCaptureBuffer(CaptureType captureType) {
+        this.captureType = captureType;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        this.positions = new long[capacity];
+        this.stateIds = new int[capacity];
+        this.flags = new int[capacity];
+        this.rawStates = new IBlockState[capacity];
+        this.extendedStates = new IBlockState[capacity];
+        this.tilePayloads = new TileEntityPayload[capacity];
+        this.snapshots = new BlockSnapshot[capacity];
+    }
+
+    private void grow() {
+        int capacity = this.positions.length << 1;
+        this.positions = Arrays.copyOf(this.positions, capacity);
+        this.stateIds = Arrays.copyOf(this.stateIds, capacity);
+        this.flags = Arrays.copyOf(this.flags, capacity);
+        this.rawStates = Arrays.copyOf(this.rawStates, capacity);
+        this.extendedStates = Arrays.copyOf(this.extendedStates, capacity);
+        this.tilePayloads = Arrays.copyOf(this.tilePayloads, capacity);
+        this.snapshots = Arrays.copyOf(this.snapshots, capacity);
+    }
+
+    public CaptureType getCaptureType() {
+        return this.captureType;
+    }
+
+    /**
+     * Records the original state of a block that is about to change.
+     *
+     * @param pos The position of the block
+     * @param state The state currently stored in the chunk
+     * @param extended The actual state of the block
+     * @param updateFlag The update flag passed to setBlockState
+     * @param payload The tile entity data, if the block has a tile entity
+     * @return The index of the record, used to {@link #remove(int)} it again
+     */
+    public int add(BlockPos pos, IBlockState state, IBlockState extended, int updateFlag, @Nullable TileEntityPayload payload) {
+        if (this.size == this.positions.length) {
+            grow();
+        }
+        final int index = this.size++;
+        final int stateId = Block.BLOCK_STATE_IDS.get(state);
+        this.positions[index] = pos.toLong();
+        this.stateIds[index] = stateId;
+        this.flags[index] = updateFlag & ~REMOVED;
+        // States that don't map to an id (non-meta properties) are kept by reference
+        this.rawStates[index] = stateId == -1 ? state : null;
+        this.extendedStates[index] = extended == state ? null : extended;
+        this.tilePayloads[index] = payload;
+        return index;
+    }
+
+    /**
+     * Drops a record again, used when the chunk rejected the change. The
+     * common case of removing the most recent record simply truncates the
+     * buffer, otherwise the record is skipped when iterating.
+     *
+     * @param index The index returned by {@link #add}
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= this.size || isRemoved(index)) {
+            return;
+        }
+        if (index == this.size - 1) {
+            this.size--;
+            clearReferences(index);
+        } else {
+            this.flags[index] |= REMOVED;
+            this.removed++;
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == this.removed;
+    }
+
+    public boolean isRemoved(int index) {
+        return (this.flags[index] & REMOVED) != 0;
+    }
+
+    public BlockPos getPos(int index) {
+        return BlockPos.fromLong(this.positions[index]);
+    }
+
+    public IBlockState getState(int index) {
+        final IBlockState raw = this.rawStates[index];
+        return raw != null ? raw : Block.BLOCK_STATE_IDS.getByValue(this.stateIds[index]);
+    }
+
+    public IBlockState getExtendedState(int index) {
+        final IBlockState extended = this.extendedStates[index];
+        return extended != null ? extended : getState(index);
+    }
+
+    public int getUpdateFlag(int index) {
+        return this.flags[index];
+    }
+
+    @Nullable
+    public TileEntityPayload getTilePayload(int index) {
+        return this.tilePayloads[index];
+    }
+
+    @Nullable
+    public BlockSnapshot getSnapshot(int index) {
+        return this.snapshots[index];
+    }
+
+    public void setSnapshot(int index, BlockSnapshot snapshot) {
+        this.snapshots[index] = snapshot;
+    }
+
+    /**
+     * Gets a live view of the records that are not removed, as snapshots.
+     * Removing a snapshot from the view removes its record.
+     *
+     * @param snapshotFactory Gets the snapshot of a record by its index
+     * @return The snapshot view
+     */
+    public List<BlockSnapshot> asSnapshotList(IntFunction<BlockSnapshot> snapshotFactory) {
+        return new AbstractList<BlockSnapshot>() {
+
+            @Override
+            public BlockSnapshot get(int index) {
+                return snapshotFactory.apply(toRecordIndex(index));
+            }
+
+            @Override
+            public BlockSnapshot remove(int index) {
+                final int record = toRecordIndex(index);
+                final BlockSnapshot snapshot = snapshotFactory.apply(record);
+                BlockCaptureBuffer.this.remove(record);
+                this.modCount++;
+                return snapshot;
+            }
+
+            @Override
+            public int size() {
+                return BlockCaptureBuffer.this.size - BlockCaptureBuffer.this.removed;
+            }
+        };
+    }
+
+    private int toRecordIndex(int index) {
+        if (index < 0 || index >= this.size - this.removed) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (this.size - this.removed));
+        }
+        if (this.removed == 0) {
+            return index;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (!isRemoved(i) && index-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Resets the buffer for the next tick, keeping the backing arrays.
+     */
+    public void clear() {
+        if (this.positions.length > MAX_RETAINED_CAPACITY) {
+            allocate(DEFAULT_CAPACITY);
+        } else {
+            for (int i = 0; i < this.size; i++) {
+                clearReferences(i);
+            }
+        }
+        this.size = 0;
+        this.removed = 0;
+    }
+
+    private void clearReferences(int index) {
+        this.rawStates[index] = null;
+        this.extendedStates[index] = null;
+        this.tilePayloads[index] = null;
+        this.snapshots[index] = null;
+    }
+
+}
@@ -24,14 +24,32 @@
  */
 package org.spongepowered.common.world;
 
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.world.chunk.PopulateChunkEvent;
 
 public enum CaptureType {
 
-    BREAK,
-    DECAY,
-    FLUID,
-    MODIFY,
-    PLACE,
-    POPULATE
+    BREAK(ChangeBlockEvent.Break.class),
+    DECAY(ChangeBlockEvent.Decay.class),
+    FLUID(ChangeBlockEvent.Fluid.class),
+    MODIFY(ChangeBlockEvent.Modify.class),
+    PLACE(ChangeBlockEvent.Place.class),
+    POPULATE(PopulateChunkEvent.Post.class);
+
+    private final Class<? extends Event> eventClass;
+
+    CaptureType(Class<? extends Event> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    /**
+     * Gets the event that is fired for the captures of this type.
+     *
+     * @return The event class
+     */
+    public Class<? extends Event> getEventClass() {
+        return this.eventClass;
+    }
 
 }
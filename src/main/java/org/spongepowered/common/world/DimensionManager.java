@@ -54,16 +54,22 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.Hashtable;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import javax.annotation.Nullable;
+
 public class DimensionManager {
 
-    public static final Hashtable<Integer, Class<? extends WorldProvider>> providers = new Hashtable<>();
-    public static final Hashtable<Integer, Boolean> spawnSettings = new Hashtable<>();
-    public static final Hashtable<Integer, Integer> dimensions = new Hashtable<>();
-    public static final Hashtable<Integer, WorldServer> worlds = new Hashtable<>();
+    public static final ConcurrentMap<Integer, Class<? extends WorldProvider>> providers = new ConcurrentHashMap<>();
+    public static final ConcurrentMap<Integer, Boolean> spawnSettings = new ConcurrentHashMap<>();
+    public static final ConcurrentMap<Integer, Integer> dimensions = new ConcurrentHashMap<>();
+    public static final ConcurrentMap<Integer, WorldServer> worlds = new ConcurrentHashMap<>();
+    // Loaded worlds by name and unique id, kept in sync with worlds by setWorld
+    private static final ConcurrentMap<String, WorldServer> worldsByName = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<UUID, WorldServer> worldsByUniqueId = new ConcurrentHashMap<>();
     public static final ConcurrentMap<World, World> weakWorldMap = new MapMaker().weakKeys().weakValues().makeMap();
     public static final ArrayList<Integer> unloadQueue = Lists.newArrayList();
     public static final BitSet dimensionMap = new BitSet(Long.SIZE << 4);
@@ -201,12 +207,13 @@ public static boolean unloadWorldFromDimId(int id) {
 
     public static void setWorld(int id, WorldServer world) {
         if (world != null) {
-            worlds.put(id, world);
+            unindexWorld(worlds.put(id, world));
+            indexWorld(world);
             weakWorldMap.put(world, world);
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().put(id, new long[100]);
             SpongeImpl.getLogger().info("Loading dimension {} ({}) ({})", id, world.getWorldInfo().getWorldName(), world.getMinecraftServer());
         } else {
-            worlds.remove(id);
+            unindexWorld(worlds.remove(id));
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().remove(id);
             SpongeImpl.getLogger().info("Unloading dimension {}", id);
         }
@@ -233,6 +240,43 @@ public static void setWorld(int id, WorldServer world) {
         MinecraftServer.getServer().worldServers = tmp.toArray(new WorldServer[tmp.size()]);
     }
 
+    private static void indexWorld(WorldServer world) {
+        final String name = world.getWorldInfo().getWorldName();
+        if (name != null) {
+            worldsByName.putIfAbsent(name, world);
+        }
+        final UUID uniqueId = ((org.spongepowered.api.world.World) world).getUniqueId();
+        if (uniqueId != null) {
+            worldsByUniqueId.putIfAbsent(uniqueId, world);
+        }
+    }
+
+    private static void unindexWorld(@Nullable WorldServer world) {
+        if (world == null) {
+            return;
+        }
+        final String name = world.getWorldInfo().getWorldName();
+        final UUID uniqueId = ((org.spongepowered.api.world.World) world).getUniqueId();
+        boolean removed = name != null && worldsByName.remove(name, world);
+        removed |= uniqueId != null && worldsByUniqueId.remove(uniqueId, world);
+        if (removed) {
+            // Another loaded world may share the name, e.g. through derived world info
+            for (WorldServer other : worlds.values()) {
+                indexWorld(other);
+            }
+        }
+    }
+
+    @Nullable
+    public static WorldServer getWorldByName(String name) {
+        return worldsByName.get(name);
+    }
+
+    @Nullable
+    public static WorldServer getWorldByUniqueId(UUID uniqueId) {
+        return worldsByUniqueId.get(uniqueId);
+    }
+
     public static WorldServer[] getWorlds() {
         return worlds.values().toArray(new WorldServer[worlds.size()]);
     }
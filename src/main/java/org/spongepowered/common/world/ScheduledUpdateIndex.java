@@ -0,0 +1,210 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.NextTickListEntry;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An index of the pending scheduled updates of a world by position, kept
+ * next to the vanilla pending tick sets.
+ *
+ * <p>Entries are grouped by chunk and then by packed block position. A
+ * position usually has a single pending entry, which is then stored
+ * without a wrapping array. Like the vanilla hash set, entries are
+ * compared with {@link NextTickListEntry#equals(Object)}, so there is at
+ * most one entry per position and block.</p>
+ */
+public final class ScheduledUpdateIndex {
+
+    private final TLongObjectHashMap<TLongObjectHashMap<Object>> chunks = new TLongObjectHashMap<>();
+    private int size;
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void add(NextTickListEntry entry) {
+        final BlockPos pos = entry.position;
+        final long chunkKey = chunkKey(pos.getX() >> 4, pos.getZ() >> 4);
+        TLongObjectHashMap<Object> positions = this.chunks.get(chunkKey);
+        if (positions == null) {
+            positions = new TLongObjectHashMap<>();
+            this.chunks.put(chunkKey, positions);
+        }
+        final long key = pos.toLong();
+        final Object current = positions.get(key);
+        if (current == null) {
+            positions.put(key, entry);
+        } else if (current instanceof NextTickListEntry) {
+            if (current.equals(entry)) {
+                return;
+            }
+            positions.put(key, new NextTickListEntry[] {(NextTickListEntry) current, entry});
+        } else {
+            final NextTickListEntry[] entries = (NextTickListEntry[]) current;
+            for (NextTickListEntry other : entries) {
+                if (other.equals(entry)) {
+                    return;
+                }
+            }
+            final NextTickListEntry[] grown = Arrays.copyOf(entries, entries.length + 1);
+            grown[entries.length] = entry;
+            positions.put(key, grown);
+        }
+        this.size++;
+    }
+
+    public void remove(NextTickListEntry entry) {
+        final BlockPos pos = entry.position;
+        final long chunkKey = chunkKey(pos.getX() >> 4, pos.getZ() >> 4);
+        final TLongObjectHashMap<Object> positions = this.chunks.get(chunkKey);
+        if (positions == null) {
+            return;
+        }
+        final long key = pos.toLong();
+        final Object current = positions.get(key);
+        if (current instanceof NextTickListEntry) {
+            if (!current.equals(entry)) {
+                return;
+            }
+            positions.remove(key);
+        } else if (current != null) {
+            final NextTickListEntry[] entries = (NextTickListEntry[]) current;
+            int index = -1;
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].equals(entry)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index == -1) {
+                return;
+            }
+            if (entries.length == 2) {
+                positions.put(key, entries[1 - index]);
+            } else {
+                final NextTickListEntry[] shrunk = new NextTickListEntry[entries.length - 1];
+                System.arraycopy(entries, 0, shrunk, 0, index);
+                System.arraycopy(entries, index + 1, shrunk, index, shrunk.length - index);
+                positions.put(key, shrunk);
+            }
+        } else {
+            return;
+        }
+        if (positions.isEmpty()) {
+            this.chunks.remove(chunkKey);
+        }
+        this.size--;
+    }
+
+    /**
+     * Adds the pending entries at the given position to the list.
+     *
+     * @param pos The block position
+     * @param result The list to add the entries to
+     */
+    public void get(BlockPos pos, List<? super NextTickListEntry> result) {
+        final TLongObjectHashMap<Object> positions = this.chunks.get(chunkKey(pos.getX() >> 4, pos.getZ() >> 4));
+        if (positions != null) {
+            addEntries(positions.get(pos.toLong()), result);
+        }
+    }
+
+    /**
+     * Adds the pending entries within the given bounds to the list. Only
+     * the indexed chunks overlapping the region are visited.
+     *
+     * @param minX The lowest x coordinate, inclusive
+     * @param minY The lowest y coordinate, inclusive
+     * @param minZ The lowest z coordinate, inclusive
+     * @param maxX The highest x coordinate, inclusive
+     * @param maxY The highest y coordinate, inclusive
+     * @param maxZ The highest z coordinate, inclusive
+     * @param result The list to add the entries to
+     */
+    public void getInRegion(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, List<? super NextTickListEntry> result) {
+        final int minChunkX = minX >> 4;
+        final int minChunkZ = minZ >> 4;
+        final int maxChunkX = maxX >> 4;
+        final int maxChunkZ = maxZ >> 4;
+        final long regionChunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (regionChunks > this.chunks.size()) {
+            // Large regions are cheaper to check against the chunks that do have entries
+            this.chunks.forEachEntry((chunkKey, positions) -> {
+                final int chunkX = (int) chunkKey;
+                final int chunkZ = (int) (chunkKey >>> 32);
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    getInRegion(positions, minX, minY, minZ, maxX, maxY, maxZ, result);
+                }
+                return true;
+            });
+            return;
+        }
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final TLongObjectHashMap<Object> positions = this.chunks.get(chunkKey(chunkX, chunkZ));
+                if (positions != null) {
+                    getInRegion(positions, minX, minY, minZ, maxX, maxY, maxZ, result);
+                }
+            }
+        }
+    }
+
+    private static void getInRegion(TLongObjectHashMap<Object> positions, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+            List<? super NextTickListEntry> result) {
+        positions.forEachEntry((key, value) -> {
+            final BlockPos pos = BlockPos.fromLong(key);
+            if (pos.getX() >= minX && pos.getX() <= maxX && pos.getY() >= minY && pos.getY() <= maxY
+                    && pos.getZ() >= minZ && pos.getZ() <= maxZ) {
+                addEntries(value, result);
+            }
+            return true;
+        });
+    }
+
+    private static void addEntries(Object value, List<? super NextTickListEntry> result) {
+        if (value instanceof NextTickListEntry) {
+            result.add((NextTickListEntry) value);
+        } else if (value != null) {
+            result.addAll(Arrays.asList((NextTickListEntry[]) value));
+        }
+    }
+
+    public void clear() {
+        this.chunks.clear();
+        this.size = 0;
+    }
+
+}
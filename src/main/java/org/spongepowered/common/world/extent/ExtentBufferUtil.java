@@ -27,12 +27,20 @@
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
+import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.world.extent.BiomeArea;
 import org.spongepowered.api.world.extent.BlockVolume;
 
+import java.util.stream.IntStream;
+
 public class ExtentBufferUtil {
 
+    // Below this many chunk columns the copy runs on the calling thread
+    private static final int PARALLEL_COLUMN_THRESHOLD = 16;
+
     public static byte[] copyToArray(BiomeArea area, Vector2i min, Vector2i max, Vector2i size) {
         // Check if the area has more biomes than can be stored in an array
         final long memory = (long) size.getX() * (long) size.getY();
@@ -58,6 +66,16 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
             throw new OutOfMemoryError("Cannot copy the blocks to an array because the size limit was reached");
         }
         final short[] copy = new short[(int) memory];
+        final BlockVolume backing = getBackingVolume(volume);
+        if (backing instanceof World) {
+            copySections((World) backing, min, max, copy);
+            return copy;
+        }
+        if (backing instanceof Chunk) {
+            final Chunk chunk = (Chunk) backing;
+            copyColumn(getSectionData(chunk, min, max, false), chunk.xPosition, chunk.zPosition, min, max, copy);
+            return copy;
+        }
         int i = 0;
         for (int x = min.getX(); x <= max.getX(); x++) {
             for (int z = min.getZ(); z <= max.getZ(); z++) {
@@ -69,4 +87,94 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
         return copy;
     }
 
+    /**
+     * Gets the volume a view reads its blocks from, if it only narrows the
+     * bounds. The region to copy is always within the bounds of the view.
+     */
+    private static BlockVolume getBackingVolume(BlockVolume volume) {
+        while (true) {
+            if (volume instanceof ExtentViewDownsize) {
+                volume = ((ExtentViewDownsize) volume).getBackingExtent();
+            } else if (volume instanceof AbstractBlockViewDownsize) {
+                volume = ((AbstractBlockViewDownsize<?>) volume).getBackingVolume();
+            } else {
+                return volume;
+            }
+        }
+    }
+
+    /**
+     * Copies the block ids of a world region straight from the chunk
+     * sections. The ids stored in the sections are the same as those of
+     * the states returned by getBlock, actual states share the id of the
+     * stored state. Large regions are filled in parallel from copies of
+     * the sections taken on the calling thread, so the result is
+     * consistent even if the world changes in the meantime.
+     */
+    private static void copySections(World world, Vector3i min, Vector3i max, short[] copy) {
+        final int minChunkX = min.getX() >> 4;
+        final int minChunkZ = min.getZ() >> 4;
+        final int chunksX = (max.getX() >> 4) - minChunkX + 1;
+        final int chunksZ = (max.getZ() >> 4) - minChunkZ + 1;
+        final int columns = chunksX * chunksZ;
+        if (columns < PARALLEL_COLUMN_THRESHOLD) {
+            for (int chunkX = minChunkX; chunkX < minChunkX + chunksX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ < minChunkZ + chunksZ; chunkZ++) {
+                    copyColumn(getSectionData(world.getChunkFromChunkCoords(chunkX, chunkZ), min, max, false), chunkX, chunkZ, min, max, copy);
+                }
+            }
+            return;
+        }
+        final char[][][] snapshot = new char[columns][][];
+        for (int column = 0; column < columns; column++) {
+            final Chunk chunk = world.getChunkFromChunkCoords(minChunkX + column / chunksZ, minChunkZ + column % chunksZ);
+            snapshot[column] = getSectionData(chunk, min, max, true);
+        }
+        IntStream.range(0, columns).parallel().forEach(column ->
+                copyColumn(snapshot[column], minChunkX + column / chunksZ, minChunkZ + column % chunksZ, min, max, copy));
+    }
+
+    /**
+     * Gets the block data of the sections of the chunk within the vertical
+     * range, null for sections that are empty.
+     */
+    private static char[][] getSectionData(Chunk chunk, Vector3i min, Vector3i max, boolean clone) {
+        final ExtendedBlockStorage[] storage = chunk.getBlockStorageArray();
+        final char[][] sections = new char[storage.length][];
+        for (int section = Math.max(min.getY() >> 4, 0); section <= Math.min(max.getY() >> 4, storage.length - 1); section++) {
+            if (storage[section] != null && !storage[section].isEmpty()) {
+                sections[section] = clone ? storage[section].getData().clone() : storage[section].getData();
+            }
+        }
+        return sections;
+    }
+
+    private static void copyColumn(char[][] sections, int chunkX, int chunkZ, Vector3i min, Vector3i max, short[] copy) {
+        final int sizeY = max.getY() - min.getY() + 1;
+        final int yzSlice = (max.getZ() - min.getZ() + 1) * sizeY;
+        final int startX = Math.max(min.getX(), chunkX << 4);
+        final int endX = Math.min(max.getX(), (chunkX << 4) + 15);
+        final int startZ = Math.max(min.getZ(), chunkZ << 4);
+        final int endZ = Math.min(max.getZ(), (chunkZ << 4) + 15);
+        for (int section = Math.max(min.getY() >> 4, 0); section <= Math.min(max.getY() >> 4, sections.length - 1); section++) {
+            final char[] data = sections[section];
+            // Empty sections are air, which is already 0 in the array
+            if (data == null) {
+                continue;
+            }
+            final int startY = Math.max(min.getY(), section << 4);
+            final int endY = Math.min(max.getY(), (section << 4) + 15);
+            for (int x = startX; x <= endX; x++) {
+                for (int z = startZ; z <= endZ; z++) {
+                    int i = (x - min.getX()) * yzSlice + (z - min.getZ()) * sizeY + (startY - min.getY());
+                    for (int y = startY; y <= endY; y++) {
+                        final int id = data[(y & 15) << 8 | (z & 15) << 4 | x & 15];
+                        // Ids without a state are read back as air by the chunk
+                        copy[i++] = (short) (id == 0 || Block.BLOCK_STATE_IDS.getByValue(id) != null ? id : 0);
+                    }
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.BlockPos;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+
+import java.util.Arrays;
+
+/**
+ * Reads and writes the owners and notifiers of the tracked blocks of a
+ * chunk.
+ *
+ * <p>The current format is a compound with a version and three parallel
+ * int arrays: the sorted packed positions (see
+ * {@link PlayerTrackerMap#key(BlockPos)}) and the owner and notifier
+ * indices of each position. An index array holding the same index for
+ * every position, which is common for chunks built by a single player,
+ * is stored with just that one index.</p>
+ *
+ * <p>Chunks written by older versions, as the list of compounds in
+ * {@value NbtDataUtil#SPONGE_BLOCK_POS_TABLE}, are read transparently and
+ * written in the current format on their next save.</p>
+ */
+public final class TrackedBlocksCodec {
+
+    public static final int VERSION = 1;
+
+    private TrackedBlocksCodec() {
+    }
+
+    /**
+     * Writes the tracked positions into the sponge data of a chunk.
+     *
+     * @param trackedPositions The tracked positions, must not be empty
+     * @param spongeData The sponge data compound of the chunk
+     */
+    public static void write(PlayerTrackerMap trackedPositions, NBTTagCompound spongeData) {
+        final int[] positions = new int[trackedPositions.size()];
+        final int[] index = {0};
+        trackedPositions.forEach((key, ownerIndex, notifierIndex) -> positions[index[0]++] = key);
+        // Sorted by y, z and x, which keeps the arrays stable between saves and compresses better
+        Arrays.sort(positions);
+
+        final int[] owners = new int[positions.length];
+        final int[] notifiers = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            owners[i] = trackedPositions.getOwner(positions[i]);
+            notifiers[i] = trackedPositions.getNotifier(positions[i]);
+        }
+
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger(NbtDataUtil.SPONGE_TRACKED_BLOCKS_VERSION, VERSION);
+        compound.setIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_POSITIONS, positions);
+        compound.setIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_OWNERS, collapse(owners));
+        compound.setIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_NOTIFIERS, collapse(notifiers));
+        spongeData.setTag(NbtDataUtil.SPONGE_TRACKED_BLOCKS, compound);
+    }
+
+    private static int[] collapse(int[] indices) {
+        for (int i = 1; i < indices.length; i++) {
+            if (indices[i] != indices[0]) {
+                return indices;
+            }
+        }
+        return indices.length > 1 ? new int[] {indices[0]} : indices;
+    }
+
+    /**
+     * Reads the tracked positions from the sponge data of a chunk, in any
+     * format that was written by this or an older version.
+     *
+     * @param spongeData The sponge data compound of the chunk
+     * @return The tracked positions
+     */
+    public static PlayerTrackerMap read(NBTTagCompound spongeData) {
+        final PlayerTrackerMap trackedPositions = new PlayerTrackerMap();
+        if (spongeData.hasKey(NbtDataUtil.SPONGE_TRACKED_BLOCKS, NbtDataUtil.TAG_COMPOUND)) {
+            readVersioned(spongeData.getCompoundTag(NbtDataUtil.SPONGE_TRACKED_BLOCKS), trackedPositions);
+        } else if (spongeData.hasKey(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_LIST)) {
+            readLegacyBlockPosTable(spongeData.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_COMPOUND), trackedPositions);
+        }
+        return trackedPositions;
+    }
+
+    private static void readVersioned(NBTTagCompound compound, PlayerTrackerMap trackedPositions) {
+        final int version = compound.getInteger(NbtDataUtil.SPONGE_TRACKED_BLOCKS_VERSION);
+        if (version != VERSION) {
+            SpongeImpl.getLogger().warn("Unknown block tracking data version {}, the tracked blocks of the chunk are dropped", version);
+            return;
+        }
+        final int[] positions = compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_POSITIONS);
+        final int[] owners = compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_OWNERS);
+        final int[] notifiers = compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_NOTIFIERS);
+        for (int i = 0; i < positions.length; i++) {
+            trackedPositions.put(positions[i], indexAt(owners, i), indexAt(notifiers, i));
+        }
+    }
+
+    private static int indexAt(int[] indices, int i) {
+        if (indices.length == 1) {
+            return indices[0];
+        }
+        return i < indices.length ? indices[i] : PlayerTrackerMap.NO_INDEX;
+    }
+
+    private static void readLegacyBlockPosTable(NBTTagList positions, PlayerTrackerMap trackedPositions) {
+        for (int i = 0; i < positions.tagCount(); i++) {
+            NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = PlayerTrackerMap.NO_INDEX;
+            int notifierIndex = PlayerTrackerMap.NO_INDEX;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) {
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+
+            int x;
+            int y;
+            int z;
+            if (valueNbt.hasKey("pos")) {
+                short pos = valueNbt.getShort("pos");
+                x = pos & 0xF;
+                y = (pos >> 4) & 0xFF;
+                z = (pos >> 12) & 0xF;
+            } else {
+                int pos = valueNbt.getInteger("ipos");
+                x = pos & 0xF;
+                y = (pos >> 4) & 0xFFFFFF;
+                z = (pos >> 28) & 0xF;
+            }
+            trackedPositions.put(PlayerTrackerMap.key(new BlockPos(x, y, z)), ownerIndex, notifierIndex);
+        }
+    }
+
+}
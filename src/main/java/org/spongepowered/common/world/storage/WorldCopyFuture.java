@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.AbstractFuture;
+import org.spongepowered.api.world.storage.WorldProperties;
+
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * The result of copying a world, which also reports how far the copy got.
+ */
+public final class WorldCopyFuture extends AbstractFuture<Optional<WorldProperties>> {
+
+    @Nullable private volatile WorldSnapshot snapshot;
+
+    public void setSnapshot(WorldSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public boolean set(@Nullable Optional<WorldProperties> value) {
+        return super.set(value);
+    }
+
+    @Override
+    public boolean setException(Throwable throwable) {
+        return super.setException(throwable);
+    }
+
+    /**
+     * Gets the number of bytes copied so far.
+     *
+     * @return The copied bytes
+     */
+    public long getCopiedBytes() {
+        final WorldSnapshot snapshot = this.snapshot;
+        return snapshot == null ? 0 : snapshot.getCopiedBytes();
+    }
+
+    /**
+     * Gets the number of bytes to copy, known once the world was flushed.
+     *
+     * @return The total bytes, or 0 if not known yet
+     */
+    public long getTotalBytes() {
+        final WorldSnapshot snapshot = this.snapshot;
+        return snapshot == null ? 0 : snapshot.getTotalBytes();
+    }
+
+    /**
+     * Gets the progress of the copy.
+     *
+     * @return The progress, from 0 to 1
+     */
+    public double getProgress() {
+        if (isDone()) {
+            return 1;
+        }
+        final long total = getTotalBytes();
+        return total == 0 ? 0 : (double) getCopiedBytes() / total;
+    }
+
+}
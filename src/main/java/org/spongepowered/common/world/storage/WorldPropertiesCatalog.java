@@ -0,0 +1,238 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.world.storage.WorldInfo;
+import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the properties of the worlds stored in a save root, so they
+ * can be listed without reading every level.dat again.
+ *
+ * <p>The save root and each world folder are watched for changes. A world
+ * is read again once its folder or level files changed, and the save root
+ * is scanned again once folders were created or deleted. Without a watch
+ * service every listing reads all worlds from disk, as before.</p>
+ */
+public final class WorldPropertiesCatalog {
+
+    private static final String LEVEL_DAT = "level.dat";
+    private static final String LEVEL_SPONGE_DAT = "level_sponge.dat";
+
+    private final Function<String, WorldInfo> loader;
+    @Nullable private File rootDir;
+    @Nullable private WatchService watchService;
+    private final Map<WatchKey, String> watchedFolders = new HashMap<>();
+    // Null values are folders without a readable world
+    private final Map<String, WorldProperties> worlds = new HashMap<>();
+    private final Set<String> outdated = new HashSet<>();
+    private boolean rescan = true;
+
+    /**
+     * Creates a new catalog.
+     *
+     * @param loader Reads the world info of a world folder in the save root
+     */
+    public WorldPropertiesCatalog(Function<String, WorldInfo> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Gets the properties of all worlds in the save root that are not
+     * excluded, usually because they are loaded.
+     *
+     * @param rootDir The save root
+     * @param excluded Tests whether a world folder is skipped
+     * @return The world properties
+     */
+    public synchronized List<WorldProperties> getWorlds(File rootDir, Predicate<String> excluded) {
+        if (!rootDir.equals(this.rootDir)) {
+            reset(rootDir);
+        }
+        pollChanges();
+        if (this.watchService == null) {
+            this.rescan = true;
+            this.outdated.addAll(this.worlds.keySet());
+        }
+        if (this.rescan) {
+            scan();
+        }
+
+        final List<WorldProperties> properties = new ArrayList<>();
+        for (Map.Entry<String, WorldProperties> entry : this.worlds.entrySet()) {
+            final String name = entry.getKey();
+            if (excluded.test(name)) {
+                continue;
+            }
+            WorldProperties world = entry.getValue();
+            if (this.outdated.remove(name)) {
+                world = read(name);
+                entry.setValue(world);
+            }
+            if (world != null) {
+                properties.add(world);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Forgets all worlds and stops watching the save root, for when the
+     * server stops.
+     */
+    public synchronized void clear() {
+        close();
+        this.rootDir = null;
+        this.worlds.clear();
+        this.outdated.clear();
+        this.rescan = true;
+    }
+
+    private void reset(File rootDir) {
+        clear();
+        this.rootDir = rootDir;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            register(rootDir.toPath(), null);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Unable to watch the save folder " + rootDir + " for changes", e);
+            close();
+        }
+    }
+
+    private void register(Path dir, @Nullable String worldName) throws IOException {
+        if (this.watchService != null) {
+            final WatchKey key = dir.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            this.watchedFolders.put(key, worldName);
+        }
+    }
+
+    private void pollChanges() {
+        if (this.watchService == null) {
+            return;
+        }
+        WatchKey key;
+        while ((key = this.watchService.poll()) != null) {
+            final String worldName = this.watchedFolders.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    this.rescan = true;
+                    this.outdated.addAll(this.worlds.keySet());
+                } else if (worldName == null) {
+                    // Something in the save root, a world folder was added, removed or touched
+                    final String name = event.context().toString();
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY && this.worlds.containsKey(name)) {
+                        this.outdated.add(name);
+                    } else {
+                        this.rescan = true;
+                    }
+                } else {
+                    this.outdated.add(worldName);
+                }
+            }
+            if (!key.reset()) {
+                this.watchedFolders.remove(key);
+            }
+        }
+    }
+
+    private void scan() {
+        this.rescan = false;
+        final File[] files = this.rootDir.listFiles();
+        final Set<String> found = new HashSet<>();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    found.add(file.getName());
+                }
+            }
+        }
+        this.worlds.keySet().retainAll(found);
+        this.outdated.retainAll(found);
+        this.watchedFolders.entrySet().removeIf(entry -> {
+            if (entry.getValue() != null && !found.contains(entry.getValue())) {
+                entry.getKey().cancel();
+                return true;
+            }
+            return false;
+        });
+        for (String name : found) {
+            if (!this.worlds.containsKey(name)) {
+                this.worlds.put(name, null);
+                this.outdated.add(name);
+                try {
+                    register(new File(this.rootDir, name).toPath(), name);
+                } catch (IOException e) {
+                    // Changes to this world would go unnoticed, so stop relying on the watch service
+                    SpongeImpl.getLogger().warn("Unable to watch the world folder " + name + " for changes", e);
+                    close();
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private WorldProperties read(String name) {
+        final File folder = new File(this.rootDir, name);
+        if (!new File(folder, LEVEL_DAT).isFile() || !new File(folder, LEVEL_SPONGE_DAT).isFile()) {
+            return null;
+        }
+        return (WorldProperties) this.loader.apply(name);
+    }
+
+    private void close() {
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            } catch (IOException e) {
+                // Nothing left to watch either way
+            }
+            this.watchService = null;
+        }
+        this.watchedFolders.clear();
+    }
+
+}
@@ -0,0 +1,369 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * A point in time copy of a world folder that does not hold up saving.
+ *
+ * <p>Creating a snapshot copies the small files of the world right away,
+ * and only records the region files, which make up nearly all of a world.
+ * The region files are then copied in parallel in the background, while
+ * the server saves as usual: before a region file of a running snapshot is
+ * written to, it is copied first, so every copy has the contents of the
+ * moment the snapshot was created.</p>
+ *
+ * <p>Region files that did not change since the last snapshot of the same
+ * folder are hard linked to the earlier copy where the file system allows
+ * it. Since region files are written in place, a linked region file gets
+ * its own copy when it is opened by a world, see
+ * {@link #onOpenRegionFile(File)}, and region files that are open are
+ * never linked to.</p>
+ */
+public final class WorldSnapshot {
+
+    private static final int MAX_COPY_WORKERS = 4;
+    // Without the unix attribute view links can't be told apart when a region file is opened
+    private static final boolean CAN_LINK = FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+    private static final Set<WorldSnapshot> running = new CopyOnWriteArraySet<>();
+    // The last complete snapshot of each world folder
+    private static final Map<Path, WorldSnapshot> lastSnapshots = new ConcurrentHashMap<>();
+    // Region files opened by the region file cache, guarded by itself
+    private static final Set<Path> openRegionFiles = new HashSet<>();
+
+    private final Path sourceDir;
+    private final Path targetDir;
+    @Nullable private volatile WorldSnapshot previous;
+    private final Map<Path, RegionFileState> regionStates = new HashMap<>();
+    private final Map<Path, RegionCopy> regionCopies = new ConcurrentHashMap<>();
+    private final AtomicLong copiedBytes = new AtomicLong();
+    private long totalBytes;
+    private volatile boolean failed;
+
+    private WorldSnapshot(Path sourceDir, Path targetDir) {
+        this.sourceDir = sourceDir;
+        this.targetDir = targetDir;
+        this.previous = lastSnapshots.get(sourceDir);
+    }
+
+    /**
+     * Creates a snapshot of a world folder. The world must have been flushed
+     * to disk and must not be written to until this returns.
+     *
+     * @param sourceDir The world folder
+     * @param targetDir The folder to copy to, which must not exist
+     * @param filter Decides which files and folders are part of the world,
+     *        or null to copy everything
+     * @return The snapshot, with the region files left to copy
+     * @throws IOException If the small files could not be copied
+     */
+    public static WorldSnapshot create(File sourceDir, File targetDir, @Nullable FileFilter filter) throws IOException {
+        final WorldSnapshot snapshot = new WorldSnapshot(normalize(sourceDir), normalize(targetDir));
+        snapshot.copySmallFiles(filter);
+        running.add(snapshot);
+        return snapshot;
+    }
+
+    private static Path normalize(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    private static boolean isRegionFile(Path file) {
+        final String name = file.getFileName().toString();
+        return name.endsWith(".mca") || name.endsWith(".mcr");
+    }
+
+    private void copySmallFiles(@Nullable FileFilter filter) throws IOException {
+        Files.walkFileTree(this.sourceDir, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(WorldSnapshot.this.sourceDir) && filter != null && !filter.accept(dir.toFile())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target(dir));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (filter != null && !filter.accept(file.toFile())) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (isRegionFile(file)) {
+                    final Path relative = WorldSnapshot.this.sourceDir.relativize(file);
+                    WorldSnapshot.this.regionStates.put(relative, new RegionFileState(attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    WorldSnapshot.this.regionCopies.put(file, new RegionCopy(file, relative));
+                    WorldSnapshot.this.totalBytes += attrs.size();
+                } else {
+                    Files.copy(file, target(file), StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private Path target(Path source) {
+        return this.targetDir.resolve(this.sourceDir.relativize(source));
+    }
+
+    /**
+     * Copies the region files of this snapshot. Workers the executor rejects
+     * run on the calling thread instead.
+     *
+     * @param executor The executor to copy with, a few files at a time
+     * @return A future completing once all region files are copied, with
+     *         whether all of them could be copied
+     */
+    public CompletableFuture<Boolean> copyRegionFiles(Executor executor) {
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        final Queue<RegionCopy> queue = new ConcurrentLinkedQueue<>(this.regionCopies.values());
+        final int workers = Math.max(1, Math.min(MAX_COPY_WORKERS, queue.size()));
+        final AtomicInteger remainingWorkers = new AtomicInteger(workers);
+        final Runnable worker = () -> {
+            try {
+                RegionCopy copy;
+                while ((copy = queue.poll()) != null) {
+                    copy.run();
+                }
+            } catch (RuntimeException e) {
+                SpongeImpl.getLogger().error("Unable to copy the region files of " + this.sourceDir, e);
+                this.failed = true;
+            } finally {
+                if (remainingWorkers.decrementAndGet() == 0) {
+                    finish();
+                    future.complete(!this.failed);
+                }
+            }
+        };
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                worker.run();
+            }
+        }
+        return future;
+    }
+
+    private void finish() {
+        running.remove(this);
+        this.previous = null;
+        // Only the region states are needed to link the next snapshot
+        this.regionCopies.clear();
+        if (!this.failed) {
+            lastSnapshots.put(this.sourceDir, this);
+        }
+    }
+
+    public long getCopiedBytes() {
+        return this.copiedBytes.get();
+    }
+
+    public long getTotalBytes() {
+        return this.totalBytes;
+    }
+
+    /**
+     * Called before a region file is written to, copies it first if it is
+     * part of a running snapshot.
+     *
+     * @param file The region file
+     */
+    public static void beforeRegionWrite(File file) {
+        if (running.isEmpty()) {
+            return;
+        }
+        final Path path = normalize(file);
+        for (WorldSnapshot snapshot : running) {
+            final RegionCopy copy = snapshot.regionCopies.get(path);
+            if (copy != null) {
+                copy.run();
+            }
+        }
+    }
+
+    /**
+     * Called before a region file is opened, gives it its own copy if it is
+     * linked to a region file of another world. Until the region files are
+     * closed with {@link #onCloseRegionFiles()}, no snapshot links to it.
+     *
+     * @param file The region file
+     */
+    public static void onOpenRegionFile(File file) {
+        if (!CAN_LINK) {
+            return;
+        }
+        final Path path = normalize(file);
+        synchronized (openRegionFiles) {
+            openRegionFiles.add(path);
+            unshare(path);
+        }
+    }
+
+    /**
+     * Called when the region file cache closes all region files.
+     */
+    public static void onCloseRegionFiles() {
+        synchronized (openRegionFiles) {
+            openRegionFiles.clear();
+        }
+    }
+
+    private static void unshare(Path path) {
+        try {
+            if (!Files.isRegularFile(path) || (Integer) Files.getAttribute(path, "unix:nlink") <= 1) {
+                return;
+            }
+            final Path copy = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.copy(path, copy, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(copy, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().error("Unable to separate linked region file " + path + ", changes will show in its other copies", e);
+        }
+    }
+
+    private static final class RegionFileState {
+
+        final long size;
+        final long lastModified;
+
+        RegionFileState(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RegionFileState)) {
+                return false;
+            }
+            final RegionFileState other = (RegionFileState) obj;
+            return this.size == other.size && this.lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(this.size) + Long.hashCode(this.lastModified);
+        }
+
+    }
+
+    private final class RegionCopy implements Runnable {
+
+        private final Path source;
+        private final Path relative;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        RegionCopy(Path source, Path relative) {
+            this.source = source;
+            this.relative = relative;
+        }
+
+        /**
+         * Copies the region file, or waits for the copy if another thread
+         * got to it first.
+         */
+        @Override
+        public void run() {
+            if (!this.claimed.compareAndSet(false, true)) {
+                this.done.join();
+                return;
+            }
+            final Path target = WorldSnapshot.this.targetDir.resolve(this.relative);
+            try {
+                if (!tryLink(target)) {
+                    Files.copy(this.source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                WorldSnapshot.this.copiedBytes.addAndGet(WorldSnapshot.this.regionStates.get(this.relative).size);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Unable to copy region file " + this.source + " to " + target, e);
+                WorldSnapshot.this.failed = true;
+            } finally {
+                this.done.complete(null);
+            }
+        }
+
+        private boolean tryLink(Path target) {
+            final WorldSnapshot previous = WorldSnapshot.this.previous;
+            if (!CAN_LINK || previous == null) {
+                return false;
+            }
+            final RegionFileState state = WorldSnapshot.this.regionStates.get(this.relative);
+            if (!state.equals(previous.regionStates.get(this.relative))) {
+                return false;
+            }
+            final Path lastTarget = previous.targetDir.resolve(this.relative);
+            try {
+                // The earlier copy may have been loaded and changed since
+                if (!state.equals(new RegionFileState(Files.size(lastTarget),
+                        Files.getLastModifiedTime(lastTarget).toMillis()))) {
+                    return false;
+                }
+                synchronized (openRegionFiles) {
+                    // A world writing to the earlier copy would write through the link
+                    if (openRegionFiles.contains(lastTarget)) {
+                        return false;
+                    }
+                    Files.createLink(target, lastTarget);
+                }
+                return true;
+            } catch (IOException | UnsupportedOperationException e) {
+                return false;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.util.BlockPos;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class PlayerTrackerMapTest {
+
+    @Test
+    public void testKey() {
+        final int key = PlayerTrackerMap.key(new BlockPos(-3, 200, 37));
+        assertEquals(13, PlayerTrackerMap.keyX(key));
+        assertEquals(200, PlayerTrackerMap.keyY(key));
+        assertEquals(5, PlayerTrackerMap.keyZ(key));
+    }
+
+    @Test
+    public void testPut() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        map.put(1, 2, 3);
+        assertTrue(map.contains(1));
+        assertEquals(2, map.getOwner(1));
+        assertEquals(3, map.getNotifier(1));
+        assertEquals(1, map.size());
+
+        map.put(1, 4, PlayerTrackerMap.NO_INDEX);
+        assertEquals(4, map.getOwner(1));
+        assertEquals(PlayerTrackerMap.NO_INDEX, map.getNotifier(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testMissing() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        assertFalse(map.contains(1));
+        assertEquals(PlayerTrackerMap.NO_INDEX, map.getOwner(1));
+        assertEquals(PlayerTrackerMap.NO_INDEX, map.getNotifier(1));
+
+        map.put(1, PlayerTrackerMap.NO_INDEX, PlayerTrackerMap.NO_INDEX);
+        assertFalse(map.contains(1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testSetOwnerAndNotifier() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        map.setNotifier(1, 5);
+        assertEquals(PlayerTrackerMap.NO_INDEX, map.getOwner(1));
+        assertEquals(5, map.getNotifier(1));
+
+        map.setOwner(1, 6);
+        assertEquals(6, map.getOwner(1));
+        assertEquals(5, map.getNotifier(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRehash() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        for (int key = 0; key < 10000; key++) {
+            map.put(key, key, key + 1);
+        }
+        assertEquals(10000, map.size());
+        for (int key = 0; key < 10000; key++) {
+            assertEquals(key, map.getOwner(key));
+            assertEquals(key + 1, map.getNotifier(key));
+        }
+    }
+
+    @Test
+    public void testForEach() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        for (int key = 0; key < 100; key++) {
+            map.put(key << 8, key, PlayerTrackerMap.NO_INDEX);
+        }
+        final Set<Integer> visited = new HashSet<>();
+        map.forEach((key, ownerIndex, notifierIndex) -> {
+            assertEquals(key >> 8, ownerIndex);
+            assertEquals(PlayerTrackerMap.NO_INDEX, notifierIndex);
+            assertTrue(visited.add(key));
+        });
+        assertEquals(100, visited.size());
+    }
+
+    @Test
+    public void testClear() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        map.put(1, 2, 3);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.contains(1));
+    }
+
+}
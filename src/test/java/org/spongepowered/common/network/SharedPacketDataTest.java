@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+public class SharedPacketDataTest {
+
+    private static ByteBuf data() {
+        return Unpooled.buffer().writeBytes(new byte[] {1, 2, 3});
+    }
+
+    @Test
+    public void testShareRetainsPerWrite() {
+        final ByteBuf data = data();
+        SharedPacketData.share(data, 3);
+        assertEquals(3, data.refCnt());
+    }
+
+    @Test
+    public void testShareSingleWrite() {
+        final ByteBuf data = data();
+        SharedPacketData.share(data, 1);
+        assertEquals(1, data.refCnt());
+    }
+
+    @Test
+    public void testWriteReleasesOnce() {
+        final ByteBuf data = data();
+        final SharedPacketData shared = SharedPacketData.share(data, 2);
+        for (int refCnt = 1; refCnt >= 0; refCnt--) {
+            final ByteBuf target = Unpooled.buffer();
+            assertTrue(shared.writeTo(target));
+            assertEquals(refCnt, data.refCnt());
+            assertEquals(3, target.readableBytes());
+            assertEquals(3, target.getByte(2));
+        }
+    }
+
+    @Test
+    public void testWriteAfterRelease() {
+        final ByteBuf data = data();
+        final SharedPacketData shared = SharedPacketData.share(data, 1);
+        assertTrue(shared.writeTo(Unpooled.buffer()));
+        assertEquals(0, data.refCnt());
+
+        // One write too many falls back to encoding the packet again
+        final ByteBuf target = Unpooled.buffer();
+        assertFalse(shared.writeTo(target));
+        assertEquals(0, target.readableBytes());
+        assertEquals(0, data.refCnt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShareWithoutWrites() {
+        SharedPacketData.share(data(), 0);
+    }
+
+}
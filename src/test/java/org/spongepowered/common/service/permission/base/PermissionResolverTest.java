@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.service.permission.context.Context;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PermissionResolverTest {
+
+    private static final Set<Context> WORLD = ImmutableSet.of(new Context(Context.WORLD_KEY, "world"));
+
+    private static SpongeSubject createSubject(Set<Context> contexts, String permission, Tristate value) {
+        final SpongeSubject subject = mock(SpongeSubject.class);
+        when(subject.resolvePermissionValue(contexts, permission)).thenReturn(value);
+        return subject;
+    }
+
+    @Test
+    public void testCached() {
+        final SpongeSubject subject = createSubject(SubjectData.GLOBAL_CONTEXT, "a.b", Tristate.TRUE);
+        final PermissionResolver resolver = new PermissionResolver(subject);
+        assertEquals(Tristate.TRUE, resolver.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b"));
+        assertEquals(Tristate.TRUE, resolver.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b"));
+        verify(subject, times(1)).resolvePermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b");
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        final SpongeSubject subject = createSubject(SubjectData.GLOBAL_CONTEXT, "a.b", Tristate.FALSE);
+        final PermissionResolver resolver = new PermissionResolver(subject);
+        resolver.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b");
+        PermissionResolver.invalidateAll();
+        assertEquals(Tristate.FALSE, resolver.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b"));
+        verify(subject, times(2)).resolvePermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b");
+    }
+
+    @Test
+    public void testContextsCachedSeparately() {
+        final SpongeSubject subject = createSubject(WORLD, "a.b", Tristate.TRUE);
+        when(subject.resolvePermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b")).thenReturn(Tristate.UNDEFINED);
+        final PermissionResolver resolver = new PermissionResolver(subject);
+        assertEquals(Tristate.UNDEFINED, resolver.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "a.b"));
+        assertEquals(Tristate.TRUE, resolver.getPermissionValue(WORLD, "a.b"));
+
+        // An equal context set hits the same entry, even if it changes afterwards
+        final Set<Context> contexts = new HashSet<>(WORLD);
+        assertEquals(Tristate.TRUE, resolver.getPermissionValue(contexts, "a.b"));
+        contexts.clear();
+        assertEquals(Tristate.TRUE, resolver.getPermissionValue(WORLD, "a.b"));
+        verify(subject, times(1)).resolvePermissionValue(WORLD, "a.b");
+    }
+
+    @Test
+    public void testPermissionTableCached() {
+        final PermissionResolver resolver = new PermissionResolver(mock(SpongeSubject.class));
+        final MemorySubjectData data = mock(MemorySubjectData.class);
+        final AtomicInteger baked = new AtomicInteger();
+        final PermissionTable table = PermissionTable.of(ImmutableMap.of("a", true));
+
+        assertSame(table, resolver.getPermissionTable(data, WORLD, (d, c) -> {
+            baked.incrementAndGet();
+            return table;
+        }));
+        assertSame(table, resolver.getPermissionTable(data, WORLD, (d, c) -> {
+            baked.incrementAndGet();
+            return PermissionTable.EMPTY;
+        }));
+        assertEquals(1, baked.get());
+
+        PermissionResolver.invalidateAll();
+        assertSame(PermissionTable.EMPTY, resolver.getPermissionTable(data, WORLD, (d, c) -> PermissionTable.EMPTY));
+    }
+
+}
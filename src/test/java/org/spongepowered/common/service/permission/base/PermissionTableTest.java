@@ -0,0 +1,77 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.spongepowered.api.util.Tristate;
+
+public class PermissionTableTest {
+
+    @Test
+    public void testEmpty() {
+        assertSame(PermissionTable.EMPTY, PermissionTable.of());
+        assertSame(PermissionTable.EMPTY, PermissionTable.of(ImmutableMap.<String, Boolean>of()));
+        assertEquals(Tristate.UNDEFINED, PermissionTable.EMPTY.get("some.node"));
+    }
+
+    @Test
+    public void testInheritance() {
+        final PermissionTable table = PermissionTable.of(ImmutableMap.of("worldedit", true, "worldedit.wand", false));
+        assertEquals(Tristate.TRUE, table.get("worldedit"));
+        assertEquals(Tristate.TRUE, table.get("worldedit.brush.sphere"));
+        assertEquals(Tristate.FALSE, table.get("worldedit.wand"));
+        assertEquals(Tristate.FALSE, table.get("worldedit.wand.use"));
+        assertEquals(Tristate.UNDEFINED, table.get("worldguard"));
+        assertEquals(Tristate.UNDEFINED, table.get("worldeditor"));
+    }
+
+    @Test
+    public void testWildcards() {
+        final PermissionTable table = PermissionTable.of(ImmutableMap.of("*", false, "sponge.command.*", true));
+        assertEquals(Tristate.FALSE, table.get("anything"));
+        assertEquals(Tristate.TRUE, table.get("sponge.command"));
+        assertEquals(Tristate.TRUE, table.get("sponge.command.help"));
+        assertEquals(Tristate.FALSE, table.get("sponge.other"));
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        final PermissionTable table = PermissionTable.of(ImmutableMap.of("Sponge.Command", true));
+        assertEquals(Tristate.TRUE, table.get("sponge.command"));
+        assertEquals(Tristate.TRUE, table.get("SPONGE.COMMAND.HELP"));
+    }
+
+    @Test
+    public void testPrecedence() {
+        final PermissionTable table = PermissionTable.of(ImmutableMap.of("a", true, "a.b", true), ImmutableMap.of("a.b", false));
+        assertEquals(Tristate.TRUE, table.get("a.c"));
+        assertEquals(Tristate.FALSE, table.get("a.b"));
+    }
+
+}
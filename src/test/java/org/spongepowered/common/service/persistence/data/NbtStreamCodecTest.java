@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.persistence.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.common.service.persistence.NbtStreamCodec;
+import org.spongepowered.common.service.persistence.NbtTranslator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class NbtStreamCodecTest {
+
+    private static DataContainer createContainer() {
+        DataContainer container = new MemoryDataContainer();
+        container.set(new DataQuery("foo"), "bar");
+        container.set(new DataQuery("myInt"), 42);
+        container.set(new DataQuery("myLong"), 42L);
+        container.set(new DataQuery("myShort"), (short) 4);
+        container.set(new DataQuery("myByte"), (byte) 2);
+        container.set(new DataQuery("myFloat"), 1.5F);
+        container.set(new DataQuery("myBoolean"), true);
+        container.set(DataQuery.of("nested", "compound", "value"), 10.0D);
+        container.set(new DataQuery("strings"), Arrays.asList("a", "b", "c"));
+        container.set(new DataQuery("myFake"), new FakeSerializable("bar", 7, 10.0D, "nested"));
+        DataContainer element = new MemoryDataContainer();
+        element.set(new DataQuery("inner"), "value");
+        container.set(new DataQuery("views"), Arrays.asList(element, element));
+        for (int i = 0; i < 32; i++) {
+            container.set(new DataQuery("key" + i), i);
+        }
+        return container;
+    }
+
+    private static byte[] write(DataView view) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            NbtStreamCodec.write(view, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] writeCompound(DataView view) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            CompressedStreamTools.write(NbtTranslator.getInstance().translateData(view), output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataContainer read(byte[] data, long sizeLimit) throws IOException {
+        return NbtStreamCodec.read(new DataInputStream(new ByteArrayInputStream(data)), sizeLimit);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        DataContainer container = createContainer();
+        assertEquals(container, read(write(container), Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testArrayRoundTrip() throws IOException {
+        DataContainer container = new MemoryDataContainer();
+        container.set(new DataQuery("bytes"), new byte[] {1, 2, 3});
+        container.set(new DataQuery("ints"), new int[] {4, 5, 6});
+        DataContainer read = read(write(container), Long.MAX_VALUE);
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) read.get(new DataQuery("bytes")).get());
+        assertArrayEquals(new int[] {4, 5, 6}, (int[]) read.get(new DataQuery("ints")).get());
+    }
+
+    @Test
+    public void testSameBytesAsCompound() throws IOException {
+        DataContainer container = createContainer();
+        container.set(new DataQuery("bytes"), new byte[] {1, 2, 3});
+        container.set(new DataQuery("boxedInts"), new Integer[] {4, 5, 6});
+        container.set(new DataQuery("map"), ImmutableMap.of("first", 1, "second", true));
+        container.set(new DataQuery("booleans"), Arrays.asList(true, false));
+        assertArrayEquals(writeCompound(container), write(container));
+    }
+
+    @Test
+    public void testReadsCompoundBytes() throws IOException {
+        DataContainer container = createContainer();
+        byte[] data = writeCompound(container);
+        DataView expected = NbtTranslator.getInstance().translateFrom(
+                CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(data))));
+        assertEquals(expected, read(data, Long.MAX_VALUE));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testSizeLimit() throws IOException {
+        DataContainer container = new MemoryDataContainer();
+        container.set(new DataQuery("bytes"), new byte[4096]);
+        read(write(container), 1024);
+    }
+
+}
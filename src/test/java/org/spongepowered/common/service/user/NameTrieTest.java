@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+public class NameTrieTest {
+    private static final UUID ALICE = new UUID(0, 1);
+    private static final UUID ALEX = new UUID(0, 2);
+    private static final UUID BOB = new UUID(0, 3);
+    private static final UUID ALICE_2 = new UUID(0, 4);
+
+    private final NameTrie trie = new NameTrie();
+
+    public NameTrieTest() {
+        this.trie.put("Alice", ALICE);
+        this.trie.put("alex", ALEX);
+        this.trie.put("Bob", BOB);
+    }
+
+    private Set<UUID> match(String prefix) {
+        final Set<UUID> ids = new HashSet<>();
+        this.trie.forEachWithPrefix(prefix, ids::add);
+        return ids;
+    }
+
+    @Test
+    public void testPrefix() {
+        assertEquals(ImmutableSet.of(ALICE, ALEX), match("al"));
+        assertEquals(ImmutableSet.of(ALICE), match("alice"));
+        assertEquals(ImmutableSet.of(BOB), match("b"));
+        assertEquals(ImmutableSet.of(ALICE, ALEX, BOB), match(""));
+        assertEquals(ImmutableSet.of(), match("alicee"));
+        assertEquals(ImmutableSet.of(), match("c"));
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        assertEquals(ImmutableSet.of(ALICE, ALEX), match("AL"));
+        assertEquals(ImmutableSet.of(BOB), match("bOB"));
+    }
+
+    @Test
+    public void testSharedName() {
+        this.trie.put("ALICE", ALICE_2);
+        this.trie.put("alice", ALICE);
+        assertEquals(4, this.trie.size());
+        assertEquals(ImmutableSet.of(ALICE, ALICE_2), match("alice"));
+    }
+
+    @Test
+    public void testRemove() {
+        this.trie.remove("alex", ALEX);
+        assertEquals(ImmutableSet.of(ALICE), match("al"));
+        assertEquals(2, this.trie.size());
+
+        // Removing an unknown name or id changes nothing
+        this.trie.remove("alex", ALEX);
+        this.trie.remove("alice", BOB);
+        this.trie.remove("carol", BOB);
+        assertEquals(ImmutableSet.of(ALICE), match("al"));
+        assertEquals(2, this.trie.size());
+    }
+
+    @Test
+    public void testRemovePrefixOfOtherName() {
+        this.trie.put("al", ALICE_2);
+        this.trie.remove("al", ALICE_2);
+        assertEquals(ImmutableSet.of(ALICE, ALEX), match("al"));
+        this.trie.remove("ALICE", ALICE);
+        this.trie.remove("alex", ALEX);
+        assertEquals(ImmutableSet.of(), match("a"));
+        assertEquals(ImmutableSet.of(BOB), match(""));
+    }
+
+    @Test
+    public void testRename() {
+        this.trie.remove("Bob", BOB);
+        this.trie.put("Robert", BOB);
+        assertEquals(ImmutableSet.of(), match("bob"));
+        assertEquals(ImmutableSet.of(BOB), match("rob"));
+        assertEquals(3, this.trie.size());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import static org.junit.Assert.assertEquals;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.junit.Test;
+
+public class SelectorSearchAreaTest {
+
+    @Test
+    public void testHorizontalBoxCoversAllSections() {
+        // @e[x=10,z=-20,dx=30,dz=5] does not limit the height
+        SelectorSearchArea area = new SelectorSearchArea(new Vector3d(10, Double.NEGATIVE_INFINITY, -20),
+                new Vector3d(40, Double.POSITIVE_INFINITY, -15));
+        assertEquals(0, area.minSection);
+        assertEquals(15, area.maxSection);
+        assertEquals(0, area.minChunkX);
+        assertEquals(2, area.maxChunkX);
+        assertEquals(-2, area.minChunkZ);
+        assertEquals(-1, area.maxChunkZ);
+        assertEquals(6, area.getChunkCount());
+    }
+
+    @Test
+    public void testBoundedHeight() {
+        SelectorSearchArea area = new SelectorSearchArea(new Vector3d(0, 40, 0), new Vector3d(0, 70, 0));
+        assertEquals(2, area.minSection);
+        assertEquals(4, area.maxSection);
+        assertEquals(-1, area.minChunkX);
+        assertEquals(0, area.maxChunkX);
+    }
+
+    @Test
+    public void testSectionClamping() {
+        assertEquals(0, SelectorSearchArea.toSection(Double.NEGATIVE_INFINITY));
+        assertEquals(0, SelectorSearchArea.toSection(-1));
+        assertEquals(0, SelectorSearchArea.toSection(Double.NaN));
+        assertEquals(0, SelectorSearchArea.toSection(15.9));
+        assertEquals(1, SelectorSearchArea.toSection(16));
+        assertEquals(15, SelectorSearchArea.toSection(255.5));
+        assertEquals(15, SelectorSearchArea.toSection(256));
+        assertEquals(15, SelectorSearchArea.toSection(Double.POSITIVE_INFINITY));
+    }
+
+}
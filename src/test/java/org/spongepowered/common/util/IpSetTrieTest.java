@@ -0,0 +1,72 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class IpSetTrieTest {
+    private final IpSetTrie trie = IpSetTrie.of(ImmutableMap.of(
+            "lan", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8")),
+            "office", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("10.42.0.0/16")),
+            "odd", ImmutableList.of(IpSet.fromCidr("172.16.0.0/12")),
+            "ula", ImmutableList.of(IpSet.fromCidr("[fc00::]/7")),
+            "everyone", ImmutableList.<IpSet>of()));
+
+    @Test
+    public void testNestedSets() throws UnknownHostException {
+        assertEquals(ImmutableSet.of("lan", "office", "everyone"), this.trie.getMatching(InetAddress.getByName("10.42.2.5")));
+        assertEquals(ImmutableSet.of("lan", "everyone"), this.trie.getMatching(InetAddress.getByName("10.43.2.5")));
+        assertEquals(ImmutableSet.of("everyone"), this.trie.getMatching(InetAddress.getByName("11.42.2.5")));
+    }
+
+    @Test
+    public void testNonByteAlignedSets() throws UnknownHostException {
+        assertEquals(ImmutableSet.of("odd", "everyone"), this.trie.getMatching(InetAddress.getByName("172.31.255.1")));
+        assertEquals(ImmutableSet.of("everyone"), this.trie.getMatching(InetAddress.getByName("172.32.0.1")));
+    }
+
+    @Test
+    public void testIpv6Sets() throws UnknownHostException {
+        assertEquals(ImmutableSet.of("ula", "everyone"), this.trie.getMatching(InetAddress.getByName("fdc0:c0b2:2a14:7afc:5216:1854:1a2f:2c13")));
+        assertEquals(ImmutableSet.of("everyone"), this.trie.getMatching(InetAddress.getByName("2064:45:310::cafe")));
+    }
+
+    @Test
+    public void testMatchesIpSet() throws UnknownHostException {
+        IpSet spec = IpSet.fromCidr("172.16.0.0/12");
+        assertEquals(spec.apply(InetAddress.getByName("172.31.255.1")),
+                this.trie.getMatching(InetAddress.getByName("172.31.255.1")).contains("odd"));
+        assertEquals(spec.apply(InetAddress.getByName("172.32.0.1")),
+                this.trie.getMatching(InetAddress.getByName("172.32.0.1")).contains("odd"));
+    }
+}
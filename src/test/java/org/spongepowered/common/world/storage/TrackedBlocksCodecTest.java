@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.Test;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+
+public class TrackedBlocksCodecTest {
+
+    private static PlayerTrackerMap roundTrip(PlayerTrackerMap map) {
+        final NBTTagCompound spongeData = new NBTTagCompound();
+        TrackedBlocksCodec.write(map, spongeData);
+        return TrackedBlocksCodec.read(spongeData);
+    }
+
+    private static void assertSame(PlayerTrackerMap expected, PlayerTrackerMap actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((key, ownerIndex, notifierIndex) -> {
+            assertEquals(ownerIndex, actual.getOwner(key));
+            assertEquals(notifierIndex, actual.getNotifier(key));
+        });
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        map.put(0x1234, 0, 1);
+        map.put(0x0012, 2, PlayerTrackerMap.NO_INDEX);
+        map.put(0xFF00, PlayerTrackerMap.NO_INDEX, 3);
+        assertSame(map, roundTrip(map));
+    }
+
+    @Test
+    public void testSameIndexCollapsed() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        for (int key = 0; key < 50; key++) {
+            map.put(key, 7, key);
+        }
+        final NBTTagCompound spongeData = new NBTTagCompound();
+        TrackedBlocksCodec.write(map, spongeData);
+        final NBTTagCompound compound = spongeData.getCompoundTag(NbtDataUtil.SPONGE_TRACKED_BLOCKS);
+        assertEquals(TrackedBlocksCodec.VERSION, compound.getInteger(NbtDataUtil.SPONGE_TRACKED_BLOCKS_VERSION));
+        assertArrayEquals(new int[] {7}, compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_OWNERS));
+        assertEquals(50, compound.getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_NOTIFIERS).length);
+        assertSame(map, TrackedBlocksCodec.read(spongeData));
+    }
+
+    @Test
+    public void testPositionsSorted() {
+        final PlayerTrackerMap map = new PlayerTrackerMap();
+        map.put(300, 1, 1);
+        map.put(5, 1, 1);
+        map.put(70, 1, 1);
+        final NBTTagCompound spongeData = new NBTTagCompound();
+        TrackedBlocksCodec.write(map, spongeData);
+        assertArrayEquals(new int[] {5, 70, 300}, spongeData.getCompoundTag(NbtDataUtil.SPONGE_TRACKED_BLOCKS)
+                .getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS_POSITIONS));
+    }
+
+    @Test
+    public void testReadLegacyBlockPosTable() {
+        final NBTTagList positions = new NBTTagList();
+        final NBTTagCompound shortPos = new NBTTagCompound();
+        shortPos.setShort("pos", (short) (3 << 12 | 64 << 4 | 2));
+        shortPos.setInteger("owner", 1);
+        shortPos.setInteger("notifier", 2);
+        positions.appendTag(shortPos);
+        final NBTTagCompound intPos = new NBTTagCompound();
+        intPos.setInteger("ipos", 4 << 28 | 300 << 4 | 5);
+        intPos.setInteger("uuid", 3);
+        positions.appendTag(intPos);
+        final NBTTagCompound spongeData = new NBTTagCompound();
+        spongeData.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+
+        final PlayerTrackerMap map = TrackedBlocksCodec.read(spongeData);
+        assertEquals(2, map.size());
+        final int first = 64 << 8 | 3 << 4 | 2;
+        assertEquals(1, map.getOwner(first));
+        assertEquals(2, map.getNotifier(first));
+        final int second = 300 << 8 | 4 << 4 | 5;
+        assertEquals(3, map.getOwner(second));
+        assertEquals(PlayerTrackerMap.NO_INDEX, map.getNotifier(second));
+    }
+
+}
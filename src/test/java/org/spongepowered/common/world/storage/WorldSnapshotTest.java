@@ -0,0 +1,141 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.concurrent.RejectedExecutionException;
+
+public class WorldSnapshotTest {
+
+    private static final byte[] LEVEL = {1, 2, 3};
+    private static final byte[] REGION = {4, 5, 6, 7};
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+    private File world;
+
+    @Before
+    public void createWorld() throws IOException {
+        this.world = this.folder.newFolder("world");
+        Files.write(new File(this.world, "level.dat").toPath(), LEVEL);
+        Files.write(region(this.world).toPath(), REGION);
+    }
+
+    @After
+    public void closeRegionFiles() {
+        WorldSnapshot.onCloseRegionFiles();
+    }
+
+    private static File region(File worldDir) {
+        final File regionDir = new File(worldDir, "region");
+        regionDir.mkdirs();
+        return new File(regionDir, "r.0.0.mca");
+    }
+
+    private File copy(String name) throws IOException {
+        final File target = new File(this.folder.getRoot(), name);
+        final WorldSnapshot snapshot = WorldSnapshot.create(this.world, target, null);
+        assertTrue(snapshot.copyRegionFiles(Runnable::run).join());
+        assertEquals(snapshot.getTotalBytes(), snapshot.getCopiedBytes());
+        return target;
+    }
+
+    private static int links(File file) throws IOException {
+        return (Integer) Files.getAttribute(file.toPath(), "unix:nlink");
+    }
+
+    private static void assumeLinks() {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"));
+    }
+
+    @Test
+    public void testCopy() throws IOException {
+        final File target = copy("copy");
+        assertArrayEquals(LEVEL, Files.readAllBytes(new File(target, "level.dat").toPath()));
+        assertArrayEquals(REGION, Files.readAllBytes(region(target).toPath()));
+    }
+
+    @Test
+    public void testRegionCopiedBeforeWrite() throws IOException {
+        final File target = new File(this.folder.getRoot(), "copy");
+        final WorldSnapshot snapshot = WorldSnapshot.create(this.world, target, null);
+        WorldSnapshot.beforeRegionWrite(region(this.world));
+        Files.write(region(this.world).toPath(), new byte[] {8});
+        assertTrue(snapshot.copyRegionFiles(Runnable::run).join());
+        assertArrayEquals(REGION, Files.readAllBytes(region(target).toPath()));
+    }
+
+    @Test
+    public void testCopyWhenRejected() throws IOException {
+        final File target = new File(this.folder.getRoot(), "copy");
+        final WorldSnapshot snapshot = WorldSnapshot.create(this.world, target, null);
+        assertTrue(snapshot.copyRegionFiles(runnable -> {
+            throw new RejectedExecutionException();
+        }).join());
+        assertArrayEquals(REGION, Files.readAllBytes(region(target).toPath()));
+    }
+
+    @Test
+    public void testUnchangedRegionLinked() throws IOException {
+        assumeLinks();
+        final File first = copy("first");
+        final File second = copy("second");
+        assertEquals(2, links(region(second)));
+
+        // Opening either copy gives it its own file
+        WorldSnapshot.onOpenRegionFile(region(second));
+        assertEquals(1, links(region(first)));
+        assertEquals(1, links(region(second)));
+        assertArrayEquals(REGION, Files.readAllBytes(region(second).toPath()));
+    }
+
+    @Test
+    public void testOpenRegionNotLinked() throws IOException {
+        assumeLinks();
+        final File first = copy("first");
+        // The first copy is loaded as a world, its writes must not reach the second copy
+        WorldSnapshot.onOpenRegionFile(region(first));
+        final File second = copy("second");
+        assertEquals(1, links(region(first)));
+        assertEquals(1, links(region(second)));
+
+        WorldSnapshot.onCloseRegionFiles();
+        assertEquals(2, links(region(copy("third"))));
+    }
+
+}